@@ -0,0 +1,74 @@
+#!/usr/bin/env bash
+# Measures time-to-healthy and first-upload latency of the packaged backend, with and without the
+# CDS archive, AOT context and startup warmup produced by `mvn -Pfast-startup package`.
+#
+# Usage: scripts/startup-benchmark.sh [runs]
+# Set STARTUP_TIMEOUT (seconds, default 60) to bound how long each run may take to become healthy.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS="${1:-5}"
+PORT="${PORT:-18080}"
+STARTUP_TIMEOUT="${STARTUP_TIMEOUT:-60}"
+CDS_DIR="target/cds"
+JAR_NAME="$(cd target && ls tsc-incident-reviewer-*.jar | grep -v original | head -n 1)"
+SAMPLE="src/main/resources/warmup/incidents-sample.csv"
+
+if [[ ! -f "$CDS_DIR/application.jsa" ]]; then
+  echo "missing $CDS_DIR/application.jsa, run: mvn -Pfast-startup package" >&2
+  exit 1
+fi
+
+now_ms() {
+  date +%s%3N
+}
+
+measure() {
+  local label="$1"
+  shift
+
+  local total_ready=0
+  local total_upload=0
+
+  for ((run = 1; run <= RUNS; run++)); do
+    local started
+    started="$(now_ms)"
+    (cd "$CDS_DIR" && exec java "$@" -Dserver.port="$PORT" -jar "$JAR_NAME" >/dev/null 2>&1) &
+    local pid=$!
+
+    local deadline=$((started + STARTUP_TIMEOUT * 1000))
+    until curl -fs "http://localhost:$PORT/api/health" >/dev/null; do
+      if ! kill -0 "$pid" 2>/dev/null; then
+        echo "$label run $run: backend exited before becoming healthy" >&2
+        exit 1
+      fi
+      if (( $(now_ms) > deadline )); then
+        echo "$label run $run: backend not healthy after ${STARTUP_TIMEOUT}s" >&2
+        kill "$pid" 2>/dev/null || true
+        wait "$pid" 2>/dev/null || true
+        exit 1
+      fi
+      sleep 0.05
+    done
+    local ready=$(( $(now_ms) - started ))
+
+    local upload_seconds
+    upload_seconds="$(curl -fs -o /dev/null -w '%{time_total}' \
+      -F "file=@$SAMPLE;filename=incidents.csv" "http://localhost:$PORT/api/incidents/upload")"
+    local upload_ms
+    upload_ms="$(awk -v s="$upload_seconds" 'BEGIN { printf "%d", s * 1000 }')"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+
+    total_ready=$((total_ready + ready))
+    total_upload=$((total_upload + upload_ms))
+  done
+
+  printf '%-10s ready: %5d ms   first upload: %5d ms   (avg of %d runs)\n' \
+    "$label" $((total_ready / RUNS)) $((total_upload / RUNS)) "$RUNS"
+}
+
+measure "baseline"
+measure "fast" -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -Dapp.startup.warmup.enabled=true
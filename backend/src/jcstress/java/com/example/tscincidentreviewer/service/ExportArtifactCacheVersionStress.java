@@ -0,0 +1,56 @@
+package com.example.tscincidentreviewer.service;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.III_Result;
+
+/**
+ * An export of the previous upload and one of the new upload share the artifact cache. Each
+ * request must get the bytes of its own version, and the cache only moves forward, so a repeated
+ * request for the new version is served from the cache whichever export came last.
+ */
+@JCStressTest
+@Outcome(id = "1, 1, 1", expect = ACCEPTABLE, desc = "Each export got its own version; the new one stayed cached.")
+@Outcome(id = "1, 1, 0", expect = FORBIDDEN, desc = "The previous export reset the cache of the new version.")
+@Outcome(expect = FORBIDDEN, desc = "An export got another version's bytes.")
+@State
+public class ExportArtifactCacheVersionStress {
+
+  private static final String FORMAT = "xlsx";
+  private static final byte[] PREVIOUS = "previous".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] CURRENT = "current".getBytes(StandardCharsets.UTF_8);
+
+  private final ExportArtifactCache cache = new ExportArtifactCache();
+
+  @Actor
+  public void exportPrevious(III_Result result) {
+    result.r1 = contentOf(1, PREVIOUS) == PREVIOUS ? 1 : 0;
+  }
+
+  @Actor
+  public void exportCurrent(III_Result result) {
+    result.r2 = contentOf(2, CURRENT) == CURRENT ? 1 : 0;
+  }
+
+  @Arbiter
+  public void check(III_Result result) {
+    result.r3 = contentOf(2, "rebuilt".getBytes(StandardCharsets.UTF_8)) == CURRENT ? 1 : 0;
+  }
+
+  private byte[] contentOf(long version, byte[] built) {
+    try {
+      return cache.getOrBuild(FORMAT, version, "v" + version, () -> built).content();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package com.example.tscincidentreviewer.service;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+import com.example.tscincidentreviewer.store.IncidentDataset;
+import com.example.tscincidentreviewer.store.IncidentStore;
+import com.example.tscincidentreviewer.store.StressDatasets;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.I_Result;
+
+/**
+ * An Arrow export of the latest dataset racing an upload is byte for byte the export of either
+ * the previous or the new upload, never a mix of both.
+ */
+@JCStressTest
+@Outcome(id = "1", expect = ACCEPTABLE, desc = "Exported the previous upload.")
+@Outcome(id = "2", expect = ACCEPTABLE, desc = "Exported the new upload.")
+@Outcome(expect = FORBIDDEN, desc = "Export matches neither upload.")
+@State
+public class ExportDuringUploadStress {
+
+  private static final byte[] PREVIOUS_EXPORT = export(new IncidentStore().save(StressDatasets.upload(1)));
+  private static final byte[] NEW_EXPORT = export(new IncidentStore().save(StressDatasets.upload(2)));
+
+  private final IncidentStore store = new IncidentStore();
+
+  public ExportDuringUploadStress() {
+    store.save(StressDatasets.upload(1));
+  }
+
+  @Actor
+  public void upload() {
+    store.save(StressDatasets.upload(2));
+  }
+
+  @Actor
+  public void export(I_Result result) {
+    byte[] exported = export(store.getLatest().orElseThrow());
+    if (Arrays.equals(exported, PREVIOUS_EXPORT)) {
+      result.r1 = 1;
+    } else if (Arrays.equals(exported, NEW_EXPORT)) {
+      result.r1 = 2;
+    }
+  }
+
+  private static byte[] export(IncidentDataset dataset) {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try {
+      ArrowIpcWriter.write(dataset, output);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return output.toByteArray();
+  }
+}
@@ -0,0 +1,43 @@
+package com.example.tscincidentreviewer.store;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.II_Result;
+
+/**
+ * A reader racing an upload sees either the previous or the new dataset, fully built: its rows,
+ * dictionary codes and indexes all belong to the same upload.
+ */
+@JCStressTest
+@Outcome(id = "1, 1", expect = ACCEPTABLE, desc = "Reader saw the previous upload.")
+@Outcome(id = "2, 2", expect = ACCEPTABLE, desc = "Reader saw the new upload.")
+@Outcome(expect = FORBIDDEN, desc = "Reader saw a torn or missing dataset.")
+@State
+public class LatestDatasetPublicationStress {
+
+  private final IncidentStore store = new IncidentStore();
+
+  public LatestDatasetPublicationStress() {
+    store.save(StressDatasets.upload(1));
+  }
+
+  @Actor
+  public void upload() {
+    store.save(StressDatasets.upload(2));
+  }
+
+  @Actor
+  public void read(II_Result result) {
+    IncidentDataset latest = store.getLatest().orElse(null);
+    if (latest == null) {
+      return;
+    }
+    result.r1 = latest.size();
+    result.r2 = StressDatasets.consistentSize(latest);
+  }
+}
@@ -0,0 +1,62 @@
+package com.example.tscincidentreviewer.store;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+import java.util.List;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.III_Result;
+
+/**
+ * Two uploads saved at once into a store that retains two snapshots. Afterwards exactly the two
+ * newest snapshots remain and the latest dataset is the newest one; a reader racing the saves sees
+ * between one and three snapshots, never none.
+ */
+@JCStressTest
+@Outcome(id = {"2, 1, 1", "2, 1, 2", "2, 1, 3"}, expect = ACCEPTABLE,
+    desc = "The two newest snapshots remain and the latest is the newest.")
+@Outcome(expect = FORBIDDEN, desc = "Snapshots were over-evicted, kept too long, or latest went backwards.")
+@State
+public class SnapshotEvictionStress {
+
+  private final IncidentStore store = new IncidentStore();
+  private int observedDuringSaves;
+
+  public SnapshotEvictionStress() {
+    store.setRetainedSnapshots(2);
+    store.save(StressDatasets.upload(1));
+  }
+
+  @Actor
+  public void uploadTwo() {
+    store.save(StressDatasets.upload(2));
+  }
+
+  @Actor
+  public void uploadThree() {
+    store.save(StressDatasets.upload(3));
+  }
+
+  @Actor
+  public void read() {
+    observedDuringSaves = store.getSnapshots().size();
+  }
+
+  @Arbiter
+  public void check(III_Result result) {
+    List<IncidentDataset> snapshots = store.getSnapshots();
+    result.r1 = snapshots.size();
+
+    IncidentDataset latest = store.getLatest().orElseThrow();
+    boolean newestKept = snapshots.size() == 2
+        && snapshots.get(0) == latest
+        && latest.version() == 3
+        && snapshots.get(1).version() == 2;
+    result.r2 = newestKept ? 1 : 0;
+    result.r3 = observedDuringSaves;
+  }
+}
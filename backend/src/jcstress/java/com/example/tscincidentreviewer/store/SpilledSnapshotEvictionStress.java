@@ -0,0 +1,83 @@
+package com.example.tscincidentreviewer.store;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+import com.example.tscincidentreviewer.model.IncidentRow;
+import java.util.Iterator;
+import java.util.Optional;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.II_Result;
+
+/**
+ * A reader leases a spilled snapshot and iterates it while two uploads evict it from a store that
+ * retains one snapshot. The reader either loses the race for the lease or reads every row; the
+ * spill file is closed once both the store and the reader have let go of it.
+ */
+@JCStressTest
+@Outcome(id = "64, 0", expect = ACCEPTABLE, desc = "Reader leased the snapshot and read every row.")
+@Outcome(id = "-1, 0", expect = ACCEPTABLE, desc = "Snapshot was evicted before the reader leased it.")
+@Outcome(id = "-2, .*", expect = FORBIDDEN, desc = "Reading the leased snapshot threw.")
+@Outcome(expect = FORBIDDEN, desc = "Reader saw a partial snapshot or the spill file leaked.")
+@State
+public class SpilledSnapshotEvictionStress {
+
+  private static final int ROWS = 64;
+
+  private final IncidentStore store = new IncidentStore();
+  private final IncidentDataset spilled;
+  private final SpilledIncidentList spilledItems;
+  private int rowsRead;
+
+  public SpilledSnapshotEvictionStress() {
+    store.setRetainedSnapshots(1);
+    spilled = store.save(StressDatasets.spilled(ROWS));
+    spilledItems = (SpilledIncidentList) spilled.items();
+  }
+
+  @Actor
+  public void uploadTwo() {
+    store.save(StressDatasets.upload(2));
+  }
+
+  @Actor
+  public void uploadThree() {
+    store.save(StressDatasets.upload(3));
+  }
+
+  @Actor
+  public void read() {
+    Optional<IncidentDataset> lease = store.leaseSnapshot(spilled.contentVersion());
+    if (lease.isEmpty()) {
+      rowsRead = -1;
+      return;
+    }
+
+    IncidentDataset dataset = lease.get();
+    try {
+      int count = 0;
+      Iterator<IncidentRow> rows = dataset.items().iterator();
+      while (rows.hasNext()) {
+        if (!rows.next().issueKey().equals("TSC-" + ROWS + "-" + count)) {
+          break;
+        }
+        count++;
+      }
+      rowsRead = count;
+    } catch (RuntimeException ex) {
+      rowsRead = -2;
+    } finally {
+      dataset.release();
+    }
+  }
+
+  @Arbiter
+  public void check(II_Result result) {
+    result.r1 = rowsRead;
+    result.r2 = spilledItems.isOpen() ? 1 : 0;
+  }
+}
@@ -0,0 +1,67 @@
+package com.example.tscincidentreviewer.store;
+
+import com.example.tscincidentreviewer.model.IncidentRow;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Small, distinguishable uploads shared by the stress tests: upload {@code n} has {@code n} rows. */
+public final class StressDatasets {
+
+  private StressDatasets() {
+  }
+
+  public static List<IncidentRow> upload(int rowCount) {
+    List<IncidentRow> rows = new ArrayList<>(rowCount);
+    for (int i = 0; i < rowCount; i++) {
+      rows.add(new IncidentRow(
+          "TSC-" + rowCount + "-" + i,
+          i % 2 == 0 ? "Payments" : "Billing, KYC-" + rowCount,
+          i % 3 == 0 ? "bug" : "sev" + rowCount,
+          "comment " + i + " of upload " + rowCount,
+          i % 2 == 0 ? List.of("card") : List.of()
+      ));
+    }
+    return rows;
+  }
+
+  /** The same rows as {@link #upload(int)}, spilled to a temporary file. */
+  public static List<IncidentRow> spilled(int rowCount) {
+    IncidentRowBuffer buffer = IncidentRowBuffer.spilling(1, 1 << 20);
+    try {
+      for (IncidentRow row : upload(rowCount)) {
+        buffer.append(row);
+      }
+      return buffer.finish();
+    } catch (IOException ex) {
+      buffer.discard();
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Returns the row count of {@code dataset} when every row agrees with the dictionary codes and
+   * derived indexes built for it, or -1 when any part of it looks torn.
+   */
+  public static int consistentSize(IncidentDataset dataset) {
+    if (dataset.contentVersion() == null || dataset.heapUsage() == null
+        || dataset.issueLinkGraph() == null || dataset.nearDuplicateIndex() == null) {
+      return -1;
+    }
+
+    List<IncidentRow> items = dataset.items();
+    if (items.size() != dataset.size()) {
+      return -1;
+    }
+    for (int i = 0; i < items.size(); i++) {
+      IncidentRow row = items.get(i);
+      if (!row.issueKey().startsWith("TSC-" + items.size() + "-")
+          || !row.issueLinks().equals(dataset.issueLinks().valueOf(dataset.issueLinkCode(i)))
+          || !row.label().equals(dataset.labels().valueOf(dataset.labelCode(i)))) {
+        return -1;
+      }
+    }
+    return dataset.crossTab(1).total() == items.size() ? items.size() : -1;
+  }
+}
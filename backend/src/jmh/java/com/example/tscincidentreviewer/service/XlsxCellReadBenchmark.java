@@ -0,0 +1,124 @@
+package com.example.tscincidentreviewer.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the previous row reading (DataFormatter on every header column) with
+ * {@link XlsxCellReader} on the four resolved columns of a raw Jira-shaped sheet.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XlsxCellReadBenchmark {
+
+  private static final int EXTRA_COLUMNS = 20;
+  private static final int[] RESOLVED_COLUMNS = {0, 1, 2, 3};
+
+  @Param({"10000"})
+  private int rows;
+
+  private XSSFWorkbook workbook;
+  private Sheet sheet;
+  private int columnCount;
+  private DataFormatter formatter;
+  private XlsxCellReader cellReader;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    workbook = new XSSFWorkbook(new ByteArrayInputStream(buildWorkbook(rows)));
+    sheet = workbook.getSheetAt(0);
+    columnCount = sheet.getRow(0).getLastCellNum();
+    formatter = new DataFormatter();
+    cellReader = new XlsxCellReader(formatter);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    workbook.close();
+  }
+
+  @Benchmark
+  public void formatAllColumns(Blackhole blackhole) {
+    for (int rowNum = 1; rowNum <= sheet.getLastRowNum(); rowNum++) {
+      Row row = sheet.getRow(rowNum);
+      for (int col = 0; col < columnCount; col++) {
+        blackhole.consume(row == null ? "" : formatter.formatCellValue(row.getCell(col)));
+      }
+    }
+  }
+
+  @Benchmark
+  public void typeAwareResolvedColumns(Blackhole blackhole) {
+    for (int rowNum = 1; rowNum <= sheet.getLastRowNum(); rowNum++) {
+      Row row = sheet.getRow(rowNum);
+      for (int col : RESOLVED_COLUMNS) {
+        blackhole.consume(cellReader.read(row, col));
+      }
+    }
+  }
+
+  private static byte[] buildWorkbook(int rowCount) throws IOException {
+    try (XSSFWorkbook source = new XSSFWorkbook(); ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+      Sheet sheet = source.createSheet("incidents");
+      CellStyle dateStyle = source.createCellStyle();
+      dateStyle.setDataFormat(source.getCreationHelper().createDataFormat().getFormat("dd/MMM/yy h:mm"));
+
+      Row header = sheet.createRow(0);
+      header.createCell(0).setCellValue("Issue key");
+      header.createCell(1).setCellValue("Custom field (Issue Links)");
+      header.createCell(2).setCellValue("Labels");
+      header.createCell(3).setCellValue("Comment");
+      for (int col = 0; col < EXTRA_COLUMNS; col++) {
+        header.createCell(4 + col).setCellValue("Custom field " + col);
+      }
+
+      Calendar created = Calendar.getInstance();
+      for (int i = 0; i < rowCount; i++) {
+        Row row = sheet.createRow(i + 1);
+        row.createCell(0).setCellValue("TSC-" + i);
+        row.createCell(1).setCellValue(i % 3 == 0 ? "Payments, Billing" : "Ops");
+        row.createCell(2).setCellValue(i % 2 == 0 ? "bug urgent" : "incident");
+        row.createCell(3).setCellValue("25/Feb/26 10:06 AM;" + i + ":uuid;gateway timeout while settling payment");
+        for (int col = 0; col < EXTRA_COLUMNS; col++) {
+          if (col % 3 == 0) {
+            row.createCell(4 + col).setCellValue(i * 1.5 + col);
+          } else if (col % 3 == 1) {
+            row.createCell(4 + col).setCellValue(created);
+            row.getCell(4 + col).setCellStyle(dateStyle);
+          } else {
+            row.createCell(4 + col).setCellValue("value " + col);
+          }
+        }
+      }
+
+      source.write(output);
+      return output.toByteArray();
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package com.example.tscincidentreviewer.config;
+
+import com.example.tscincidentreviewer.dto.UploadResponse;
+import com.example.tscincidentreviewer.index.IssueLinkGraph;
+import com.example.tscincidentreviewer.index.NearDuplicateIndex;
+import com.example.tscincidentreviewer.model.IncidentRow;
+import com.example.tscincidentreviewer.service.XlsxParseService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Parses a bundled synthetic export once while the context starts, before the web server accepts
+ * requests, so that POI, commons-csv and Jackson classes are loaded and the parse path is warm for
+ * the first real upload. It also runs during the CDS training run of the fast-startup profile, which
+ * puts those classes into the archive. The flag is read at runtime rather than through a bean
+ * condition because AOT processing fixes the bean set at build time.
+ */
+@Component
+public class StartupWarmup implements SmartInitializingSingleton {
+
+  private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+
+  private static final String SAMPLE_RESOURCE = "warmup/incidents-sample.csv";
+
+  private final XlsxParseService xlsxParseService;
+  private final ObjectMapper objectMapper;
+  private final boolean enabled;
+
+  public StartupWarmup(
+      XlsxParseService xlsxParseService,
+      ObjectMapper objectMapper,
+      @Value("${app.startup.warmup.enabled:false}") boolean enabled
+  ) {
+    this.xlsxParseService = xlsxParseService;
+    this.objectMapper = objectMapper;
+    this.enabled = enabled;
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    if (!enabled) {
+      return;
+    }
+
+    long startedAt = System.nanoTime();
+    try {
+      UploadResponse csvResponse = parseSampleCsv();
+      UploadResponse xlsxResponse = xlsxParseService.parse(new ByteArrayInputStream(toXlsx(csvResponse)));
+
+      IssueLinkGraph.build(xlsxResponse.items());
+      NearDuplicateIndex.build(xlsxResponse.items()).groups(0.8, 10);
+      objectMapper.writeValueAsBytes(xlsxResponse);
+
+      log.info("Startup warmup parsed {} sample rows in {} ms",
+          csvResponse.items().size() + xlsxResponse.items().size(),
+          (System.nanoTime() - startedAt) / 1_000_000);
+    } catch (Exception ex) {
+      log.warn("Startup warmup failed", ex);
+    }
+  }
+
+  private UploadResponse parseSampleCsv() throws IOException {
+    try (InputStream input = new ClassPathResource(SAMPLE_RESOURCE).getInputStream()) {
+      return xlsxParseService.parse(input);
+    }
+  }
+
+  private byte[] toXlsx(UploadResponse response) throws IOException {
+    try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+      Sheet sheet = workbook.createSheet("incidents");
+      Row header = sheet.createRow(0);
+      header.createCell(0).setCellValue("Issue Key");
+      header.createCell(1).setCellValue("Custom Field (Issue Links)");
+      header.createCell(2).setCellValue("Label");
+      header.createCell(3).setCellValue("Comment");
+
+      int rowIndex = 1;
+      for (IncidentRow item : response.items()) {
+        Row row = sheet.createRow(rowIndex++);
+        row.createCell(0).setCellValue(item.issueKey());
+        row.createCell(1).setCellValue(item.issueLinks());
+        row.createCell(2).setCellValue(item.label());
+        row.createCell(3).setCellValue(item.comment());
+      }
+
+      workbook.write(output);
+      return output.toByteArray();
+    }
+  }
+}
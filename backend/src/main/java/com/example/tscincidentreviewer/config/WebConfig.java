@@ -0,0 +1,15 @@
+package com.example.tscincidentreviewer.config;
+
+import com.example.tscincidentreviewer.controller.DatasetLeases;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(new DatasetLeases()).addPathPatterns("/api/**");
+  }
+}
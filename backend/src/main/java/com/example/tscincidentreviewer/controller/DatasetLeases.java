@@ -0,0 +1,39 @@
+package com.example.tscincidentreviewer.controller;
+
+import com.example.tscincidentreviewer.store.IncidentDataset;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Releases the datasets a handler leased from the store once its response is complete: after the
+ * body was serialized, or for a streamed body after the async dispatch that follows the last
+ * write. Until then eviction cannot close the rows the response is still reading.
+ */
+public class DatasetLeases implements AsyncHandlerInterceptor {
+
+  private static final String LEASED_DATASETS = DatasetLeases.class.getName() + ".datasets";
+
+  static IncidentDataset releaseAfterResponse(HttpServletRequest request, IncidentDataset dataset) {
+    @SuppressWarnings("unchecked")
+    List<IncidentDataset> leased = (List<IncidentDataset>) request.getAttribute(LEASED_DATASETS);
+    if (leased == null) {
+      leased = new ArrayList<>(2);
+      request.setAttribute(LEASED_DATASETS, leased);
+    }
+    leased.add(dataset);
+    return dataset;
+  }
+
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    @SuppressWarnings("unchecked")
+    List<IncidentDataset> leased = (List<IncidentDataset>) request.getAttribute(LEASED_DATASETS);
+    if (leased != null) {
+      request.removeAttribute(LEASED_DATASETS);
+      leased.forEach(IncidentDataset::release);
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package com.example.tscincidentreviewer.controller;
+
+import com.example.tscincidentreviewer.model.DiagnosticRecording;
+import com.example.tscincidentreviewer.service.SlowOperationRecorder;
+import jakarta.servlet.http.HttpServletRequest;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Flight recordings of slow uploads and exports. Only served to clients on the same host; the
+ * check trusts the socket's remote address, so requests that carry forwarding headers (i.e. came
+ * through a proxy on this host) are refused as well.
+ */
+@RestController
+@RequestMapping("/api/admin/diagnostics")
+public class DiagnosticsController {
+
+  private final SlowOperationRecorder slowOperationRecorder;
+
+  public DiagnosticsController(SlowOperationRecorder slowOperationRecorder) {
+    this.slowOperationRecorder = slowOperationRecorder;
+  }
+
+  @GetMapping("/recordings")
+  public ResponseEntity<List<DiagnosticRecording>> recordings(HttpServletRequest request) {
+    if (!isLocal(request)) {
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    }
+    return ResponseEntity.ok(slowOperationRecorder.list());
+  }
+
+  @GetMapping("/recordings/{name}")
+  public ResponseEntity<Resource> download(@PathVariable("name") String name, HttpServletRequest request) {
+    if (!isLocal(request)) {
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    }
+
+    return slowOperationRecorder.resolve(name)
+        .<ResponseEntity<Resource>>map(path -> ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(name).build().toString())
+            .body(new FileSystemResource(path)))
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
+  private static boolean isLocal(HttpServletRequest request) {
+    if (request.getHeader("X-Forwarded-For") != null || request.getHeader("Forwarded") != null) {
+      return false;
+    }
+    try {
+      return InetAddress.getByName(request.getRemoteAddr()).isLoopbackAddress();
+    } catch (UnknownHostException ex) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package com.example.tscincidentreviewer.controller;
+
+final class ETags {
+
+  private ETags() {
+  }
+
+  static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+      return false;
+    }
+
+    for (String candidate : ifNoneMatch.split(",")) {
+      String trimmed = candidate.trim();
+      if ("*".equals(trimmed)) {
+        return true;
+      }
+      if (trimmed.startsWith("W/")) {
+        trimmed = trimmed.substring(2);
+      }
+      if (trimmed.equals(etag)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+}
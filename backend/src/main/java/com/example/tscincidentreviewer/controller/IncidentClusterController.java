@@ -0,0 +1,53 @@
+package com.example.tscincidentreviewer.controller;
+
+import com.example.tscincidentreviewer.model.IssueCluster;
+import com.example.tscincidentreviewer.store.IncidentDataset;
+import com.example.tscincidentreviewer.store.IncidentStore;
+import java.util.List;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/incidents/clusters")
+public class IncidentClusterController {
+
+  private static final int MAX_LIMIT = 1_000;
+
+  private final IncidentStore incidentStore;
+
+  public IncidentClusterController(IncidentStore incidentStore) {
+    this.incidentStore = incidentStore;
+  }
+
+  @GetMapping
+  public List<IssueCluster> largestClusters(
+      @RequestParam(value = "limit", defaultValue = "10") int limit,
+      @RequestParam(value = "minIncidents", defaultValue = "2") int minIncidents
+  ) {
+    if (limit <= 0 || limit > MAX_LIMIT) {
+      throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+    }
+
+    return latestDataset().issueLinkGraph().largest(limit, minIncidents);
+  }
+
+  @GetMapping("/{issueKey}")
+  public IssueCluster clusterOf(@PathVariable("issueKey") String issueKey) {
+    return latestDataset().issueLinkGraph().clusterOf(issueKey)
+        .orElseThrow(() -> new IllegalArgumentException("unknown issue key: " + issueKey));
+  }
+
+  @GetMapping("/{issueKey}/links")
+  public List<String> linksOf(@PathVariable("issueKey") String issueKey) {
+    return latestDataset().issueLinkGraph().neighbors(issueKey)
+        .orElseThrow(() -> new IllegalArgumentException("unknown issue key: " + issueKey));
+  }
+
+  private IncidentDataset latestDataset() {
+    return incidentStore.getLatest()
+        .orElseThrow(() -> new IllegalArgumentException("no dataset uploaded"));
+  }
+}
@@ -0,0 +1,85 @@
+package com.example.tscincidentreviewer.controller;
+
+import com.example.tscincidentreviewer.dto.DatasetInfo;
+import com.example.tscincidentreviewer.dto.IncidentPage;
+import com.example.tscincidentreviewer.model.CrossTab;
+import com.example.tscincidentreviewer.store.IncidentDataset;
+import com.example.tscincidentreviewer.store.IncidentStore;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.List;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/incidents")
+public class IncidentDatasetController {
+
+  private static final int MAX_PAGE_SIZE = 1_000;
+
+  private final IncidentStore incidentStore;
+
+  public IncidentDatasetController(IncidentStore incidentStore) {
+    this.incidentStore = incidentStore;
+  }
+
+  @GetMapping("/dataset")
+  public ResponseEntity<DatasetInfo> dataset() {
+    IncidentDataset dataset = latestDataset();
+
+    return ResponseEntity.ok()
+        .eTag("\"dataset-" + dataset.contentVersion() + "\"")
+        .cacheControl(CacheControl.noCache())
+        .body(new DatasetInfo(dataset.contentVersion(), dataset.size(), dataset.heapUsage()));
+  }
+
+  @GetMapping("/items")
+  public ResponseEntity<IncidentPage> items(
+      @RequestParam(value = "offset", defaultValue = "0") int offset,
+      @RequestParam(value = "limit", defaultValue = "200") int limit,
+      HttpServletRequest request
+  ) {
+    if (offset < 0) {
+      throw new IllegalArgumentException("offset must not be negative");
+    }
+    if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+      throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+    }
+
+    IncidentDataset dataset = DatasetLeases.releaseAfterResponse(request, incidentStore.leaseLatest()
+        .orElseThrow(() -> new IllegalArgumentException("no dataset uploaded")));
+    int from = Math.min(offset, dataset.size());
+    int to = Math.min(dataset.size(), from + limit);
+
+    return ResponseEntity.ok()
+        .eTag("\"items-" + dataset.contentVersion() + "-" + from + "-" + limit + "\"")
+        .cacheControl(CacheControl.noCache())
+        .body(new IncidentPage(
+            dataset.contentVersion(),
+            dataset.size(),
+            from,
+            List.copyOf(dataset.items().subList(from, to))
+        ));
+  }
+
+  @GetMapping("/crosstab")
+  public ResponseEntity<CrossTab> crossTab(@RequestParam(value = "limit", defaultValue = "20") int limit) {
+    if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+      throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+    }
+
+    IncidentDataset dataset = latestDataset();
+    return ResponseEntity.ok()
+        .eTag("\"crosstab-" + dataset.contentVersion() + "-" + limit + "\"")
+        .cacheControl(CacheControl.noCache())
+        .body(dataset.crossTab(limit));
+  }
+
+  private IncidentDataset latestDataset() {
+    return incidentStore.getLatest()
+        .orElseThrow(() -> new IllegalArgumentException("no dataset uploaded"));
+  }
+}
@@ -0,0 +1,50 @@
+package com.example.tscincidentreviewer.controller;
+
+import com.example.tscincidentreviewer.model.DuplicateGroup;
+import com.example.tscincidentreviewer.store.IncidentDataset;
+import com.example.tscincidentreviewer.store.IncidentStore;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/incidents")
+public class IncidentDuplicateController {
+
+  private static final int MAX_LIMIT = 1_000;
+
+  private final IncidentStore incidentStore;
+  private final double defaultThreshold;
+
+  public IncidentDuplicateController(
+      IncidentStore incidentStore,
+      @Value("${app.duplicates.similarity-threshold:0.8}") double defaultThreshold
+  ) {
+    this.incidentStore = incidentStore;
+    this.defaultThreshold = defaultThreshold;
+  }
+
+  @GetMapping("/duplicates")
+  public List<DuplicateGroup> duplicates(
+      @RequestParam(value = "threshold", required = false) Double threshold,
+      @RequestParam(value = "limit", defaultValue = "50") int limit,
+      HttpServletRequest request
+  ) {
+    double effectiveThreshold = threshold == null ? defaultThreshold : threshold;
+    if (effectiveThreshold <= 0.0 || effectiveThreshold > 1.0) {
+      throw new IllegalArgumentException("threshold must be in (0, 1]");
+    }
+    if (limit <= 0 || limit > MAX_LIMIT) {
+      throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+    }
+
+    IncidentDataset dataset = DatasetLeases.releaseAfterResponse(request, incidentStore.leaseLatest()
+        .orElseThrow(() -> new IllegalArgumentException("no dataset uploaded")));
+
+    return dataset.nearDuplicateIndex().groups(effectiveThreshold, limit);
+  }
+}
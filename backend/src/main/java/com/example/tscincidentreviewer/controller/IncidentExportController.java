@@ -1,10 +1,17 @@
 package com.example.tscincidentreviewer.controller;
 
 import com.example.tscincidentreviewer.model.IncidentRow;
+import com.example.tscincidentreviewer.service.ArrowIpcWriter;
+import com.example.tscincidentreviewer.service.ExportArtifactCache;
+import com.example.tscincidentreviewer.service.ExportEvent;
+import com.example.tscincidentreviewer.service.SlowOperationRecorder;
+import com.example.tscincidentreviewer.store.IncidentDataset;
 import com.example.tscincidentreviewer.store.IncidentStore;
+import jakarta.servlet.http.HttpServletRequest;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.List;
+import org.apache.commons.io.output.CountingOutputStream;
 import org.apache.poi.common.usermodel.HyperlinkType;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
@@ -16,13 +23,17 @@ import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/incidents")
@@ -30,33 +41,115 @@ public class IncidentExportController {
 
   private static final String JIRA_BASE_URL =
       "https://bitpace.atlassian.net/jira/servicedesk/projects/TSC/queues/custom/189/";
+  private static final String XLSX_FORMAT = "xlsx";
+  private static final String ARROW_FORMAT = "arrow";
 
   private final IncidentStore incidentStore;
-
-  public IncidentExportController(IncidentStore incidentStore) {
+  private final ExportArtifactCache exportArtifactCache;
+  private final SlowOperationRecorder slowOperationRecorder;
+
+  public IncidentExportController(
+      IncidentStore incidentStore,
+      ExportArtifactCache exportArtifactCache,
+      SlowOperationRecorder slowOperationRecorder
+  ) {
     this.incidentStore = incidentStore;
+    this.exportArtifactCache = exportArtifactCache;
+    this.slowOperationRecorder = slowOperationRecorder;
   }
 
   @GetMapping(path = "/export/xlsx")
-  public ResponseEntity<byte[]> exportXlsx() {
-    List<IncidentRow> items = incidentStore.getLatestItems()
-        .orElseThrow(() -> new IllegalArgumentException("no data to export"));
+  public ResponseEntity<byte[]> exportXlsx(
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+      HttpServletRequest request
+  ) {
+    IncidentDataset dataset = leaseLatest(request);
+
+    String etag = ExportArtifactCache.etagFor(XLSX_FORMAT, dataset.contentVersion());
+    if (ETags.matches(ifNoneMatch, etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+          .eTag(etag)
+          .cacheControl(CacheControl.noCache())
+          .build();
+    }
 
     try {
-      byte[] file = buildWorkbook(items);
+      ExportArtifactCache.Artifact artifact = exportArtifactCache.getOrBuild(
+          XLSX_FORMAT,
+          dataset.version(),
+          dataset.contentVersion(),
+          () -> timedExport(XLSX_FORMAT, dataset, () -> buildWorkbook(dataset.items()))
+      );
       return ResponseEntity.ok()
+          .eTag(artifact.etag())
+          .cacheControl(CacheControl.noCache())
           .contentType(MediaType.parseMediaType(
               "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
           .header(
               HttpHeaders.CONTENT_DISPOSITION,
               ContentDisposition.attachment().filename("tsc_report_normalized.xlsx").build().toString()
           )
-          .body(file);
+          .body(artifact.content());
     } catch (IOException ex) {
       throw new IllegalStateException("failed to export xlsx", ex);
     }
   }
 
+  @GetMapping(path = "/export/arrow")
+  public ResponseEntity<StreamingResponseBody> exportArrow(
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+      HttpServletRequest request
+  ) {
+    IncidentDataset dataset = leaseLatest(request);
+
+    String etag = ExportArtifactCache.etagFor(ARROW_FORMAT, dataset.contentVersion());
+    if (ETags.matches(ifNoneMatch, etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+          .eTag(etag)
+          .cacheControl(CacheControl.noCache())
+          .build();
+    }
+
+    return ResponseEntity.ok()
+        .eTag(etag)
+        .cacheControl(CacheControl.noCache())
+        .contentType(MediaType.parseMediaType(ArrowIpcWriter.MEDIA_TYPE))
+        .header(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename("tsc_report_normalized.arrows").build().toString()
+        )
+        .body(output -> {
+          long startedAt = System.nanoTime();
+          ExportEvent event = ExportEvent.begin(ARROW_FORMAT, dataset.size());
+          CountingOutputStream counted = new CountingOutputStream(output);
+          try {
+            ArrowIpcWriter.write(dataset, counted);
+          } finally {
+            event.finish(counted.getByteCount());
+            slowOperationRecorder.recordIfSlow("export-" + ARROW_FORMAT, System.nanoTime() - startedAt);
+          }
+        });
+  }
+
+  private IncidentDataset leaseLatest(HttpServletRequest request) {
+    return DatasetLeases.releaseAfterResponse(request, incidentStore.leaseLatest()
+        .orElseThrow(() -> new IllegalArgumentException("no data to export")));
+  }
+
+  private byte[] timedExport(String format, IncidentDataset dataset, ExportArtifactCache.ArtifactBuilder builder)
+      throws IOException {
+    long startedAt = System.nanoTime();
+    ExportEvent event = ExportEvent.begin(format, dataset.size());
+    byte[] content = null;
+    try {
+      content = builder.build();
+      return content;
+    } finally {
+      event.finish(content == null ? 0 : content.length);
+      slowOperationRecorder.recordIfSlow("export-" + format, System.nanoTime() - startedAt);
+    }
+  }
+
   private byte[] buildWorkbook(List<IncidentRow> items) throws IOException {
     try (Workbook workbook = new XSSFWorkbook(); ByteArrayOutputStream output = new ByteArrayOutputStream()) {
       Sheet sheet = workbook.createSheet("incidents");
@@ -3,8 +3,10 @@ package com.example.tscincidentreviewer.controller;
 import com.example.tscincidentreviewer.dto.UploadResponse;
 import com.example.tscincidentreviewer.exception.InvalidXlsxException;
 import com.example.tscincidentreviewer.exception.MissingFileException;
+import com.example.tscincidentreviewer.service.SlowOperationRecorder;
 import com.example.tscincidentreviewer.service.XlsxParseService;
 import com.example.tscincidentreviewer.store.IncidentStore;
+import jakarta.servlet.http.HttpServletRequest;
 import java.io.IOException;
 import java.util.Locale;
 import org.springframework.http.MediaType;
@@ -20,14 +22,23 @@ public class IncidentUploadController {
 
   private final XlsxParseService xlsxParseService;
   private final IncidentStore incidentStore;
+  private final SlowOperationRecorder slowOperationRecorder;
 
-  public IncidentUploadController(XlsxParseService xlsxParseService, IncidentStore incidentStore) {
+  public IncidentUploadController(
+      XlsxParseService xlsxParseService,
+      IncidentStore incidentStore,
+      SlowOperationRecorder slowOperationRecorder
+  ) {
     this.xlsxParseService = xlsxParseService;
     this.incidentStore = incidentStore;
+    this.slowOperationRecorder = slowOperationRecorder;
   }
 
   @PostMapping(path = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-  public UploadResponse upload(@RequestParam(value = "file", required = false) MultipartFile file) {
+  public UploadResponse upload(
+      @RequestParam(value = "file", required = false) MultipartFile file,
+      HttpServletRequest request
+  ) {
     if (file == null || file.isEmpty()) {
       throw new MissingFileException();
     }
@@ -42,12 +53,16 @@ public class IncidentUploadController {
       throw new IllegalArgumentException("only .xlsx or .csv files are supported");
     }
 
+    long startedAt = System.nanoTime();
     try {
       UploadResponse response = xlsxParseService.parse(file.getInputStream());
-      incidentStore.save(response.items());
+      // The response serializes the same rows, which may be spilled, after this method returns
+      DatasetLeases.releaseAfterResponse(request, incidentStore.saveAndLease(response.items()));
       return response;
     } catch (IOException ex) {
       throw new InvalidXlsxException(ex);
+    } finally {
+      slowOperationRecorder.recordIfSlow("upload", System.nanoTime() - startedAt);
     }
   }
 }
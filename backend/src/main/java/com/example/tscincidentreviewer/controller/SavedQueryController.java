@@ -0,0 +1,69 @@
+package com.example.tscincidentreviewer.controller;
+
+import com.example.tscincidentreviewer.dto.SavedQueryResult;
+import com.example.tscincidentreviewer.model.QueryFilters;
+import com.example.tscincidentreviewer.model.SavedQuery;
+import com.example.tscincidentreviewer.service.SavedQueryService;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/incidents/queries")
+public class SavedQueryController {
+
+  private static final int MAX_PAGE_SIZE = 1_000;
+
+  private final SavedQueryService savedQueryService;
+
+  public SavedQueryController(SavedQueryService savedQueryService) {
+    this.savedQueryService = savedQueryService;
+  }
+
+  @GetMapping
+  public List<SavedQuery> list() {
+    return savedQueryService.list();
+  }
+
+  @PutMapping("/{name}")
+  public SavedQuery save(@PathVariable("name") String name, @RequestBody QueryFilters filters) {
+    return savedQueryService.save(name, filters);
+  }
+
+  @GetMapping("/{name}")
+  public SavedQuery get(@PathVariable("name") String name) {
+    return savedQueryService.find(name)
+        .orElseThrow(() -> new IllegalArgumentException("unknown saved query: " + name));
+  }
+
+  @DeleteMapping("/{name}")
+  public ResponseEntity<Void> delete(@PathVariable("name") String name) {
+    if (!savedQueryService.delete(name)) {
+      throw new IllegalArgumentException("unknown saved query: " + name);
+    }
+    return ResponseEntity.noContent().build();
+  }
+
+  @GetMapping("/{name}/result")
+  public SavedQueryResult result(
+      @PathVariable("name") String name,
+      @RequestParam(value = "offset", defaultValue = "0") int offset,
+      @RequestParam(value = "limit", defaultValue = "200") int limit
+  ) {
+    if (offset < 0) {
+      throw new IllegalArgumentException("offset must not be negative");
+    }
+    if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+      throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+    }
+
+    return savedQueryService.run(name, offset, limit);
+  }
+}
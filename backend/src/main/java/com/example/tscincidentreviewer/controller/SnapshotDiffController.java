@@ -0,0 +1,119 @@
+package com.example.tscincidentreviewer.controller;
+
+import com.example.tscincidentreviewer.dto.DatasetInfo;
+import com.example.tscincidentreviewer.dto.DiffEntry;
+import com.example.tscincidentreviewer.model.DiffSummary;
+import com.example.tscincidentreviewer.model.IncidentRow;
+import com.example.tscincidentreviewer.service.SnapshotDiff;
+import com.example.tscincidentreviewer.store.IncidentDataset;
+import com.example.tscincidentreviewer.store.IncidentStore;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.List;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/incidents")
+public class SnapshotDiffController {
+
+  private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+  private final IncidentStore incidentStore;
+  private final ObjectMapper objectMapper;
+  private final ObjectWriter lineWriter;
+
+  public SnapshotDiffController(IncidentStore incidentStore, ObjectMapper objectMapper) {
+    this.incidentStore = incidentStore;
+    this.objectMapper = objectMapper;
+    this.lineWriter = objectMapper.writerFor(DiffEntry.class)
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+  }
+
+  @GetMapping("/snapshots")
+  public List<DatasetInfo> snapshots() {
+    return incidentStore.getSnapshots().stream()
+        .map(dataset -> new DatasetInfo(dataset.contentVersion(), dataset.size(), dataset.heapUsage()))
+        .toList();
+  }
+
+  @GetMapping("/diff/summary")
+  public DiffSummary summary(
+      @RequestParam(value = "from", required = false) String from,
+      @RequestParam(value = "to", required = false) String to,
+      HttpServletRequest request
+  ) {
+    IncidentDataset target = resolveTarget(to, request);
+    return SnapshotDiff.summarize(resolveBase(from, target, request), target);
+  }
+
+  @GetMapping("/diff")
+  public ResponseEntity<StreamingResponseBody> diff(
+      @RequestParam(value = "from", required = false) String from,
+      @RequestParam(value = "to", required = false) String to,
+      HttpServletRequest request
+  ) {
+    IncidentDataset target = resolveTarget(to, request);
+    IncidentDataset base = resolveBase(from, target, request);
+
+    return ResponseEntity.ok()
+        .cacheControl(CacheControl.noCache())
+        .contentType(NDJSON)
+        .body(output -> {
+          try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.setRootValueSeparator(null);
+            DiffSummary summary = SnapshotDiff.diff(base, target, new SnapshotDiff.Listener() {
+              @Override
+              public void added(IncidentRow after) throws IOException {
+                writeLine(generator, DiffEntry.added(after));
+              }
+
+              @Override
+              public void removed(IncidentRow before) throws IOException {
+                writeLine(generator, DiffEntry.removed(before));
+              }
+
+              @Override
+              public void changed(IncidentRow before, IncidentRow after, List<String> changedFields)
+                  throws IOException {
+                writeLine(generator, DiffEntry.changed(before, after, changedFields));
+              }
+            });
+            writeLine(generator, DiffEntry.summary(summary));
+          }
+        });
+  }
+
+  private void writeLine(JsonGenerator generator, DiffEntry entry) throws IOException {
+    lineWriter.writeValue(generator, entry);
+    generator.writeRaw('\n');
+  }
+
+  private IncidentDataset resolveTarget(String to, HttpServletRequest request) {
+    if (to == null || to.isBlank()) {
+      return DatasetLeases.releaseAfterResponse(request, incidentStore.leaseLatest()
+          .orElseThrow(() -> new IllegalArgumentException("no dataset uploaded")));
+    }
+    return DatasetLeases.releaseAfterResponse(request, incidentStore.leaseSnapshot(to)
+        .orElseThrow(() -> new IllegalArgumentException("unknown or evicted snapshot: " + to)));
+  }
+
+  private IncidentDataset resolveBase(String from, IncidentDataset target, HttpServletRequest request) {
+    if (from == null || from.isBlank()) {
+      return DatasetLeases.releaseAfterResponse(request, incidentStore.leasePrevious(target)
+          .orElseThrow(() -> new IllegalArgumentException("no earlier retained snapshot to compare with")));
+    }
+    return DatasetLeases.releaseAfterResponse(request, incidentStore.leaseSnapshot(from)
+        .orElseThrow(() -> new IllegalArgumentException("unknown or evicted snapshot: " + from)));
+  }
+}
@@ -0,0 +1,10 @@
+package com.example.tscincidentreviewer.dto;
+
+import com.example.tscincidentreviewer.model.HeapUsage;
+
+public record DatasetInfo(
+    String version,
+    int rowCount,
+    HeapUsage heapUsage
+) {
+}
@@ -0,0 +1,32 @@
+package com.example.tscincidentreviewer.dto;
+
+import com.example.tscincidentreviewer.model.DiffSummary;
+import com.example.tscincidentreviewer.model.IncidentRow;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DiffEntry(
+    String type,
+    IncidentRow before,
+    IncidentRow after,
+    List<String> changedFields,
+    DiffSummary summary
+) {
+
+  public static DiffEntry added(IncidentRow after) {
+    return new DiffEntry("added", null, after, null, null);
+  }
+
+  public static DiffEntry removed(IncidentRow before) {
+    return new DiffEntry("removed", before, null, null, null);
+  }
+
+  public static DiffEntry changed(IncidentRow before, IncidentRow after, List<String> changedFields) {
+    return new DiffEntry("changed", before, after, changedFields, null);
+  }
+
+  public static DiffEntry summary(DiffSummary summary) {
+    return new DiffEntry("summary", null, null, null, summary);
+  }
+}
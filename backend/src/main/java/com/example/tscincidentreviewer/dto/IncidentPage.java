@@ -0,0 +1,12 @@
+package com.example.tscincidentreviewer.dto;
+
+import com.example.tscincidentreviewer.model.IncidentRow;
+import java.util.List;
+
+public record IncidentPage(
+    String version,
+    int total,
+    int offset,
+    List<IncidentRow> items
+) {
+}
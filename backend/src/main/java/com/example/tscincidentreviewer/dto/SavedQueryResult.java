@@ -0,0 +1,16 @@
+package com.example.tscincidentreviewer.dto;
+
+import com.example.tscincidentreviewer.model.IncidentRow;
+import com.example.tscincidentreviewer.model.Stats;
+import java.util.List;
+
+public record SavedQueryResult(
+    String name,
+    String version,
+    boolean cached,
+    int total,
+    Stats facets,
+    int offset,
+    List<IncidentRow> items
+) {
+}
@@ -0,0 +1,8 @@
+package com.example.tscincidentreviewer.exception;
+
+public class UploadLimitExceededException extends IllegalArgumentException {
+
+  public UploadLimitExceededException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,152 @@
+package com.example.tscincidentreviewer.index;
+
+import java.util.Arrays;
+
+/**
+ * Sparse counts of how often two dictionary-coded columns take each pair of codes in the same row,
+ * plus per-code totals of both. Only pairs that occur are stored; they are counted in a primitive
+ * open-addressing table during one pass and then kept sorted by count, so the top cells are a
+ * prefix.
+ */
+public final class CoOccurrenceMatrix {
+
+  private static final long EMPTY_SLOT = -1L;
+
+  private final int total;
+  private final int[] rowTotals;
+  private final int[] columnTotals;
+  private final int[] cellRows;
+  private final int[] cellColumns;
+  private final int[] cellCounts;
+
+  private CoOccurrenceMatrix(
+      int total,
+      int[] rowTotals,
+      int[] columnTotals,
+      int[] cellRows,
+      int[] cellColumns,
+      int[] cellCounts
+  ) {
+    this.total = total;
+    this.rowTotals = rowTotals;
+    this.columnTotals = columnTotals;
+    this.cellRows = cellRows;
+    this.cellColumns = cellColumns;
+    this.cellCounts = cellCounts;
+  }
+
+  /**
+   * Counts {@code (rowCodes[i], columnCodes[i])} for every row. Codes must lie in
+   * {@code [0, rowCardinality)} and {@code [0, columnCardinality)}.
+   */
+  public static CoOccurrenceMatrix build(
+      int[] rowCodes,
+      int rowCardinality,
+      int[] columnCodes,
+      int columnCardinality
+  ) {
+    int size = rowCodes.length;
+    int[] rowTotals = new int[rowCardinality];
+    int[] columnTotals = new int[columnCardinality];
+
+    long maxCells = Math.min(size, (long) rowCardinality * columnCardinality);
+    int capacity = Integer.highestOneBit((int) Math.max(2, maxCells * 2 - 1)) << 1;
+    long[] keys = new long[capacity];
+    int[] counts = new int[capacity];
+    Arrays.fill(keys, EMPTY_SLOT);
+    int mask = capacity - 1;
+    int cellCount = 0;
+
+    for (int i = 0; i < size; i++) {
+      int row = rowCodes[i];
+      int column = columnCodes[i];
+      rowTotals[row]++;
+      columnTotals[column]++;
+
+      long key = (long) row * columnCardinality + column;
+      int slot = mix(key) & mask;
+      while (keys[slot] != EMPTY_SLOT && keys[slot] != key) {
+        slot = (slot + 1) & mask;
+      }
+      if (keys[slot] == EMPTY_SLOT) {
+        keys[slot] = key;
+        cellCount++;
+      }
+      counts[slot]++;
+    }
+
+    long[] order = new long[cellCount];
+    long[] cellKeys = new long[cellCount];
+    int cursor = 0;
+    for (int slot = 0; slot < capacity; slot++) {
+      if (keys[slot] != EMPTY_SLOT) {
+        cellKeys[cursor] = keys[slot];
+        cursor++;
+      }
+    }
+    Arrays.sort(cellKeys);
+    for (int cell = 0; cell < cellCount; cell++) {
+      int slot = mix(cellKeys[cell]) & mask;
+      while (keys[slot] != cellKeys[cell]) {
+        slot = (slot + 1) & mask;
+      }
+      order[cell] = ((long) (Integer.MAX_VALUE - counts[slot]) << 32) | cell;
+    }
+    Arrays.sort(order);
+
+    int[] cellRows = new int[cellCount];
+    int[] cellColumns = new int[cellCount];
+    int[] cellCounts = new int[cellCount];
+    for (int rank = 0; rank < cellCount; rank++) {
+      int cell = (int) order[rank];
+      long key = cellKeys[cell];
+      cellRows[rank] = (int) (key / columnCardinality);
+      cellColumns[rank] = (int) (key % columnCardinality);
+      cellCounts[rank] = Integer.MAX_VALUE - (int) (order[rank] >>> 32);
+    }
+
+    return new CoOccurrenceMatrix(size, rowTotals, columnTotals, cellRows, cellColumns, cellCounts);
+  }
+
+  public int total() {
+    return total;
+  }
+
+  public int rowTotal(int rowCode) {
+    return rowTotals[rowCode];
+  }
+
+  public int columnTotal(int columnCode) {
+    return columnTotals[columnCode];
+  }
+
+  public int rowCardinality() {
+    return rowTotals.length;
+  }
+
+  public int columnCardinality() {
+    return columnTotals.length;
+  }
+
+  /** Number of distinct code pairs that occur. Cells are ranked by count, most frequent first. */
+  public int cellCount() {
+    return cellCounts.length;
+  }
+
+  public int cellRow(int rank) {
+    return cellRows[rank];
+  }
+
+  public int cellColumn(int rank) {
+    return cellColumns[rank];
+  }
+
+  public int cellValue(int rank) {
+    return cellCounts[rank];
+  }
+
+  private static int mix(long key) {
+    long hash = key * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32));
+  }
+}
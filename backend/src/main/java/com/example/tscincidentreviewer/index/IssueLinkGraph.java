@@ -0,0 +1,257 @@
+package com.example.tscincidentreviewer.index;
+
+import com.example.tscincidentreviewer.model.IncidentRow;
+import com.example.tscincidentreviewer.model.IssueCluster;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Connects incidents through the keys listed in their issue links. Every incident, incident key
+ * and linked key is a node; union-find merges them into connected clusters once at build time so
+ * that lookups only read precomputed clusters. The direct links of each key are kept as a
+ * compressed adjacency: keys are numbered in sorted order, and the neighbors of key {@code k} are
+ * {@code neighborTargets[neighborOffsets[k] .. neighborOffsets[k + 1])}.
+ */
+public final class IssueLinkGraph {
+
+  private static final Pattern LINK_SEPARATOR = Pattern.compile("[,;\\r\\n]+");
+
+  private final Map<String, Integer> keyIds;
+  private final String[] keys;
+  private final int[] clusterOfKey;
+  private final int[] neighborOffsets;
+  private final int[] neighborTargets;
+  private final List<IssueCluster> clusters;
+
+  private IssueLinkGraph(
+      Map<String, Integer> keyIds,
+      String[] keys,
+      int[] clusterOfKey,
+      int[] neighborOffsets,
+      int[] neighborTargets,
+      List<IssueCluster> clusters
+  ) {
+    this.keyIds = keyIds;
+    this.keys = keys;
+    this.clusterOfKey = clusterOfKey;
+    this.neighborOffsets = neighborOffsets;
+    this.neighborTargets = neighborTargets;
+    this.clusters = clusters;
+  }
+
+  public static IssueLinkGraph build(List<IncidentRow> items) {
+    UnionFind unionFind = new UnionFind(items.size() * 2);
+    Map<String, Integer> nodeByKey = new HashMap<>();
+    BitSet incidentKeyNodes = new BitSet();
+    int[] rowNodes = new int[items.size()];
+    int[] edges = new int[16];
+    int edgeCount = 0;
+
+    int rowIndex = 0;
+    for (IncidentRow row : items) {
+      int rowNode = unionFind.add();
+      rowNodes[rowIndex++] = rowNode;
+
+      String issueKey = row.issueKey() == null ? "" : row.issueKey().trim();
+      if (!issueKey.isEmpty()) {
+        int keyNode = nodeByKey.computeIfAbsent(issueKey, key -> unionFind.add());
+        incidentKeyNodes.set(keyNode);
+        unionFind.union(rowNode, keyNode);
+      }
+
+      for (String link : splitLinks(row.issueLinks())) {
+        int linkNode = nodeByKey.computeIfAbsent(link, key -> unionFind.add());
+        unionFind.union(rowNode, linkNode);
+        if (!issueKey.isEmpty() && !issueKey.equals(link)) {
+          if (edgeCount == edges.length) {
+            edges = Arrays.copyOf(edges, edges.length * 2);
+          }
+          edges[edgeCount++] = nodeByKey.get(issueKey);
+          edges[edgeCount++] = linkNode;
+        }
+      }
+    }
+
+    int[] clusterOfRoot = new int[unionFind.count()];
+    Arrays.fill(clusterOfRoot, -1);
+    List<ClusterBuilder> builders = new ArrayList<>();
+
+    for (int rowNode : rowNodes) {
+      int root = unionFind.find(rowNode);
+      if (clusterOfRoot[root] < 0) {
+        clusterOfRoot[root] = builders.size();
+        builders.add(new ClusterBuilder());
+      }
+      builders.get(clusterOfRoot[root]).incidentCount++;
+    }
+
+    for (Map.Entry<String, Integer> entry : nodeByKey.entrySet()) {
+      ClusterBuilder builder = builders.get(clusterOfRoot[unionFind.find(entry.getValue())]);
+      if (incidentKeyNodes.get(entry.getValue())) {
+        builder.issueKeys.add(entry.getKey());
+      } else {
+        builder.linkedKeys.add(entry.getKey());
+      }
+    }
+
+    for (ClusterBuilder builder : builders) {
+      builder.issueKeys.sort(Comparator.naturalOrder());
+      builder.linkedKeys.sort(Comparator.naturalOrder());
+    }
+
+    Integer[] order = new Integer[builders.size()];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, (left, right) -> compareClusters(builders.get(left), builders.get(right)));
+
+    int[] clusterIdByBuilder = new int[builders.size()];
+    List<IssueCluster> clusters = new ArrayList<>(builders.size());
+    for (int clusterId = 0; clusterId < order.length; clusterId++) {
+      ClusterBuilder builder = builders.get(order[clusterId]);
+      clusterIdByBuilder[order[clusterId]] = clusterId;
+      clusters.add(new IssueCluster(
+          clusterId,
+          builder.incidentCount,
+          List.copyOf(builder.issueKeys),
+          List.copyOf(builder.linkedKeys)
+      ));
+    }
+
+    String[] keys = nodeByKey.keySet().toArray(new String[0]);
+    Arrays.sort(keys);
+    Map<String, Integer> keyIds = new HashMap<>(keys.length * 2);
+    int[] keyIdByNode = new int[unionFind.count()];
+    int[] clusterOfKey = new int[keys.length];
+    for (int keyId = 0; keyId < keys.length; keyId++) {
+      int node = nodeByKey.get(keys[keyId]);
+      keyIds.put(keys[keyId], keyId);
+      keyIdByNode[node] = keyId;
+      clusterOfKey[keyId] = clusterIdByBuilder[clusterOfRoot[unionFind.find(node)]];
+    }
+
+    // Count both directions of every link, turn the counts into offsets, then fill and dedupe each
+    // key's sorted run of targets in place.
+    int[] offsets = new int[keys.length + 1];
+    for (int i = 0; i < edgeCount; i++) {
+      offsets[keyIdByNode[edges[i]] + 1]++;
+    }
+    for (int keyId = 0; keyId < keys.length; keyId++) {
+      offsets[keyId + 1] += offsets[keyId];
+    }
+    int[] targets = new int[edgeCount];
+    int[] fill = Arrays.copyOf(offsets, keys.length);
+    for (int i = 0; i < edgeCount; i += 2) {
+      int from = keyIdByNode[edges[i]];
+      int to = keyIdByNode[edges[i + 1]];
+      targets[fill[from]++] = to;
+      targets[fill[to]++] = from;
+    }
+
+    int written = 0;
+    for (int keyId = 0; keyId < keys.length; keyId++) {
+      int start = offsets[keyId];
+      int end = offsets[keyId + 1];
+      Arrays.sort(targets, start, end);
+      offsets[keyId] = written;
+      for (int i = start; i < end; i++) {
+        if (i == start || targets[i] != targets[i - 1]) {
+          targets[written++] = targets[i];
+        }
+      }
+    }
+    offsets[keys.length] = written;
+    targets = Arrays.copyOf(targets, written);
+
+    return new IssueLinkGraph(
+        keyIds,
+        keys,
+        clusterOfKey,
+        offsets,
+        targets,
+        List.copyOf(clusters)
+    );
+  }
+
+  public Optional<IssueCluster> clusterOf(String key) {
+    int keyId = keyId(key);
+    return keyId < 0 ? Optional.empty() : Optional.of(clusters.get(clusterOfKey[keyId]));
+  }
+
+  /** Keys directly linked to or from {@code key}, sorted; empty if the key is unknown. */
+  public Optional<List<String>> neighbors(String key) {
+    int keyId = keyId(key);
+    if (keyId < 0) {
+      return Optional.empty();
+    }
+
+    List<String> neighbors = new ArrayList<>(neighborOffsets[keyId + 1] - neighborOffsets[keyId]);
+    for (int i = neighborOffsets[keyId]; i < neighborOffsets[keyId + 1]; i++) {
+      neighbors.add(keys[neighborTargets[i]]);
+    }
+    return Optional.of(neighbors);
+  }
+
+  public List<IssueCluster> largest(int limit, int minIncidents) {
+    List<IssueCluster> result = new ArrayList<>();
+    for (IssueCluster cluster : clusters) {
+      if (result.size() >= limit || cluster.incidentCount() < minIncidents) {
+        break;
+      }
+      result.add(cluster);
+    }
+    return result;
+  }
+
+  public int clusterCount() {
+    return clusters.size();
+  }
+
+  private int keyId(String key) {
+    Integer keyId = key == null ? null : keyIds.get(key.trim());
+    return keyId == null ? -1 : keyId;
+  }
+
+  static List<String> splitLinks(String issueLinks) {
+    if (issueLinks == null || issueLinks.isBlank()) {
+      return List.of();
+    }
+
+    List<String> links = new ArrayList<>();
+    for (String token : LINK_SEPARATOR.split(issueLinks)) {
+      String trimmed = token.trim();
+      if (!trimmed.isEmpty()) {
+        links.add(trimmed);
+      }
+    }
+    return links;
+  }
+
+  private static int compareClusters(ClusterBuilder left, ClusterBuilder right) {
+    int compareCount = Integer.compare(right.incidentCount, left.incidentCount);
+    if (compareCount != 0) {
+      return compareCount;
+    }
+    return firstKey(left).compareTo(firstKey(right));
+  }
+
+  private static String firstKey(ClusterBuilder builder) {
+    if (!builder.issueKeys.isEmpty()) {
+      return builder.issueKeys.get(0);
+    }
+    return builder.linkedKeys.isEmpty() ? "" : builder.linkedKeys.get(0);
+  }
+
+  private static final class ClusterBuilder {
+    private int incidentCount;
+    private final List<String> issueKeys = new ArrayList<>();
+    private final List<String> linkedKeys = new ArrayList<>();
+  }
+}
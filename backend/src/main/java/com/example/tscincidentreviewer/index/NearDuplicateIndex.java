@@ -0,0 +1,243 @@
+package com.example.tscincidentreviewer.index;
+
+import com.example.tscincidentreviewer.model.DuplicateGroup;
+import com.example.tscincidentreviewer.model.IncidentRow;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * MinHash signatures of incident comments bucketed with locality-sensitive hashing. Word
+ * 3-shingles of each comment are reduced to {@value #SIGNATURE_SIZE} min-hashes and split into
+ * {@value #BANDS} bands; only comments sharing a band bucket are compared, so grouping stays
+ * roughly linear in the number of rows.
+ */
+public final class NearDuplicateIndex {
+
+  static final int SIGNATURE_SIZE = 64;
+  static final int BANDS = 16;
+  private static final int ROWS_PER_BAND = SIGNATURE_SIZE / BANDS;
+  private static final int SHINGLE_SIZE = 3;
+  private static final int SAMPLE_COMMENT_LENGTH = 200;
+  private static final int MAX_CACHED_THRESHOLDS = 8;
+
+  private static final long[] HASH_MULTIPLIERS = new long[SIGNATURE_SIZE];
+  private static final long[] HASH_OFFSETS = new long[SIGNATURE_SIZE];
+
+  static {
+    SplittableRandom random = new SplittableRandom(0x5EED1DEAL);
+    for (int i = 0; i < SIGNATURE_SIZE; i++) {
+      HASH_MULTIPLIERS[i] = random.nextLong() | 1L;
+      HASH_OFFSETS[i] = random.nextLong();
+    }
+  }
+
+  private final List<IncidentRow> items;
+  private final int[] signatures;
+  private final long[][] bandBuckets;
+  private final Map<Double, List<DuplicateGroup>> groupsByThreshold = new ConcurrentHashMap<>();
+
+  private NearDuplicateIndex(List<IncidentRow> items, int[] signatures, long[][] bandBuckets) {
+    this.items = items;
+    this.signatures = signatures;
+    this.bandBuckets = bandBuckets;
+  }
+
+  public static NearDuplicateIndex build(List<IncidentRow> items) {
+    int[] signatures = new int[items.size() * SIGNATURE_SIZE];
+    long[][] bandBuckets = new long[BANDS][items.size()];
+    int indexedRows = 0;
+
+    int rowIndex = 0;
+    for (IncidentRow row : items) {
+      if (computeSignature(row.comment(), signatures, rowIndex * SIGNATURE_SIZE)) {
+        for (int band = 0; band < BANDS; band++) {
+          int bandHash = bandHash(signatures, rowIndex * SIGNATURE_SIZE, band);
+          bandBuckets[band][indexedRows] = ((long) bandHash << 32) | rowIndex;
+        }
+        indexedRows++;
+      }
+      rowIndex++;
+    }
+
+    for (int band = 0; band < BANDS; band++) {
+      bandBuckets[band] = Arrays.copyOf(bandBuckets[band], indexedRows);
+      Arrays.sort(bandBuckets[band]);
+    }
+
+    return new NearDuplicateIndex(items, signatures, bandBuckets);
+  }
+
+  /** Heap held by the signatures and band buckets, not counting cached groups. */
+  public long estimatedBytes() {
+    long bytes = 16 + 4L * signatures.length + 16 + 4L * bandBuckets.length;
+    for (long[] buckets : bandBuckets) {
+      bytes += 16 + 8L * buckets.length;
+    }
+    return bytes;
+  }
+
+  public List<DuplicateGroup> groups(double threshold, int limit) {
+    List<DuplicateGroup> groups = groupsByThreshold.get(threshold);
+    if (groups == null) {
+      groups = computeGroups(threshold);
+      if (groupsByThreshold.size() >= MAX_CACHED_THRESHOLDS) {
+        groupsByThreshold.clear();
+      }
+      groupsByThreshold.put(threshold, groups);
+    }
+    return groups.size() <= limit ? groups : groups.subList(0, limit);
+  }
+
+  double similarity(int leftRow, int rightRow) {
+    int leftOffset = leftRow * SIGNATURE_SIZE;
+    int rightOffset = rightRow * SIGNATURE_SIZE;
+    int equal = 0;
+    for (int i = 0; i < SIGNATURE_SIZE; i++) {
+      if (signatures[leftOffset + i] == signatures[rightOffset + i]) {
+        equal++;
+      }
+    }
+    return equal / (double) SIGNATURE_SIZE;
+  }
+
+  private List<DuplicateGroup> computeGroups(double threshold) {
+    UnionFind unionFind = new UnionFind(items.size());
+    for (int i = 0; i < items.size(); i++) {
+      unionFind.add();
+    }
+
+    for (long[] buckets : bandBuckets) {
+      int start = 0;
+      while (start < buckets.length) {
+        int end = start + 1;
+        while (end < buckets.length && (buckets[end] >>> 32) == (buckets[start] >>> 32)) {
+          end++;
+        }
+
+        int representative = (int) buckets[start];
+        for (int i = start + 1; i < end; i++) {
+          int candidate = (int) buckets[i];
+          if (unionFind.find(candidate) != unionFind.find(representative)
+              && similarity(representative, candidate) >= threshold) {
+            unionFind.union(representative, candidate);
+          }
+        }
+        start = end;
+      }
+    }
+
+    Map<Integer, List<Integer>> rowsByRoot = new HashMap<>();
+    for (long bucket : bandBuckets[0]) {
+      int row = (int) bucket;
+      rowsByRoot.computeIfAbsent(unionFind.find(row), root -> new ArrayList<>()).add(row);
+    }
+
+    List<DuplicateGroup> groups = new ArrayList<>();
+    for (List<Integer> rows : rowsByRoot.values()) {
+      if (rows.size() < 2) {
+        continue;
+      }
+
+      rows.sort(Integer::compare);
+      List<String> issueKeys = new ArrayList<>(rows.size());
+      for (int row : rows) {
+        issueKeys.add(items.get(row).issueKey());
+      }
+      groups.add(new DuplicateGroup(rows.size(), List.copyOf(issueKeys), sample(items.get(rows.get(0)).comment())));
+    }
+
+    groups.sort((left, right) -> {
+      int compareSize = Integer.compare(right.size(), left.size());
+      if (compareSize != 0) {
+        return compareSize;
+      }
+      return left.issueKeys().get(0).compareTo(right.issueKeys().get(0));
+    });
+    return List.copyOf(groups);
+  }
+
+  static boolean computeSignature(String comment, int[] signatures, int offset) {
+    int[] tokenHashes = tokenHashes(comment);
+    if (tokenHashes.length == 0) {
+      return false;
+    }
+
+    int[] signature = new int[SIGNATURE_SIZE];
+    Arrays.fill(signature, Integer.MAX_VALUE);
+    int shingleCount = Math.max(1, tokenHashes.length - SHINGLE_SIZE + 1);
+    for (int start = 0; start < shingleCount; start++) {
+      long shingleHash = 0;
+      int end = Math.min(tokenHashes.length, start + SHINGLE_SIZE);
+      for (int i = start; i < end; i++) {
+        shingleHash = shingleHash * 0x100000001B3L + tokenHashes[i];
+      }
+      shingleHash = mix(shingleHash);
+
+      for (int i = 0; i < SIGNATURE_SIZE; i++) {
+        int value = (int) ((HASH_MULTIPLIERS[i] * shingleHash + HASH_OFFSETS[i]) >>> 33);
+        if (value < signature[i]) {
+          signature[i] = value;
+        }
+      }
+    }
+
+    System.arraycopy(signature, 0, signatures, offset, SIGNATURE_SIZE);
+    return true;
+  }
+
+  private static int[] tokenHashes(String comment) {
+    if (comment == null || comment.isBlank()) {
+      return new int[0];
+    }
+
+    int[] hashes = new int[16];
+    int count = 0;
+    int hash = 0;
+    boolean inToken = false;
+
+    for (int i = 0; i <= comment.length(); i++) {
+      char current = i < comment.length() ? comment.charAt(i) : ' ';
+      if (Character.isLetterOrDigit(current)) {
+        hash = hash * 31 + Character.toLowerCase(current);
+        inToken = true;
+      } else if (inToken) {
+        if (count == hashes.length) {
+          hashes = Arrays.copyOf(hashes, count * 2);
+        }
+        hashes[count++] = hash;
+        hash = 0;
+        inToken = false;
+      }
+    }
+
+    return Arrays.copyOf(hashes, count);
+  }
+
+  private static int bandHash(int[] signatures, int offset, int band) {
+    long hash = band;
+    int start = offset + band * ROWS_PER_BAND;
+    for (int i = start; i < start + ROWS_PER_BAND; i++) {
+      hash = hash * 0x9E3779B97F4A7C15L + signatures[i];
+    }
+    return (int) (mix(hash) >>> 32);
+  }
+
+  private static long mix(long value) {
+    long mixed = value;
+    mixed = (mixed ^ (mixed >>> 33)) * 0xFF51AFD7ED558CCDL;
+    mixed = (mixed ^ (mixed >>> 33)) * 0xC4CEB9FE1A85EC53L;
+    return mixed ^ (mixed >>> 33);
+  }
+
+  private static String sample(String comment) {
+    if (comment == null || comment.length() <= SAMPLE_COMMENT_LENGTH) {
+      return comment;
+    }
+    return comment.substring(0, SAMPLE_COMMENT_LENGTH);
+  }
+}
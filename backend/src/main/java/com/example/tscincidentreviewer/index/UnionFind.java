@@ -0,0 +1,54 @@
+package com.example.tscincidentreviewer.index;
+
+import java.util.Arrays;
+
+final class UnionFind {
+
+  private int[] parent;
+  private int[] size;
+  private int count;
+
+  UnionFind(int initialCapacity) {
+    parent = new int[Math.max(16, initialCapacity)];
+    size = new int[parent.length];
+  }
+
+  int add() {
+    if (count == parent.length) {
+      parent = Arrays.copyOf(parent, parent.length * 2);
+      size = Arrays.copyOf(size, size.length * 2);
+    }
+    parent[count] = count;
+    size[count] = 1;
+    return count++;
+  }
+
+  int count() {
+    return count;
+  }
+
+  int find(int node) {
+    int current = node;
+    while (parent[current] != current) {
+      parent[current] = parent[parent[current]];
+      current = parent[current];
+    }
+    return current;
+  }
+
+  void union(int left, int right) {
+    int leftRoot = find(left);
+    int rightRoot = find(right);
+    if (leftRoot == rightRoot) {
+      return;
+    }
+
+    if (size[leftRoot] < size[rightRoot]) {
+      int swap = leftRoot;
+      leftRoot = rightRoot;
+      rightRoot = swap;
+    }
+    parent[rightRoot] = leftRoot;
+    size[leftRoot] += size[rightRoot];
+  }
+}
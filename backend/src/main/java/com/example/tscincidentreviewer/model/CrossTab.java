@@ -0,0 +1,12 @@
+package com.example.tscincidentreviewer.model;
+
+import java.util.List;
+
+public record CrossTab(
+    long total,
+    int distinctCells,
+    List<CrossTabCell> cells,
+    List<StatRow> byLabel,
+    List<StatRow> byIssueLinks
+) {
+}
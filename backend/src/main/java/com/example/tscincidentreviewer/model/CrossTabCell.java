@@ -0,0 +1,9 @@
+package com.example.tscincidentreviewer.model;
+
+public record CrossTabCell(
+    String label,
+    String issueLinks,
+    long count,
+    double percent
+) {
+}
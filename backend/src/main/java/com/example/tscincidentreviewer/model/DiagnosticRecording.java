@@ -0,0 +1,10 @@
+package com.example.tscincidentreviewer.model;
+
+import java.time.Instant;
+
+public record DiagnosticRecording(
+    String name,
+    long sizeBytes,
+    Instant createdAt
+) {
+}
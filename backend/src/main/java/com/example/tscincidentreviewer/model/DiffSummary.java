@@ -0,0 +1,11 @@
+package com.example.tscincidentreviewer.model;
+
+public record DiffSummary(
+    String fromVersion,
+    String toVersion,
+    int added,
+    int removed,
+    int changed,
+    int unchanged
+) {
+}
@@ -0,0 +1,10 @@
+package com.example.tscincidentreviewer.model;
+
+import java.util.List;
+
+public record DuplicateGroup(
+    int size,
+    List<String> issueKeys,
+    String sampleComment
+) {
+}
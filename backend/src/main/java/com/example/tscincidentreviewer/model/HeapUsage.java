@@ -0,0 +1,14 @@
+package com.example.tscincidentreviewer.model;
+
+public record HeapUsage(
+    int distinctIssueLinks,
+    int distinctLabels,
+    long plainBytes,
+    long retainedBytes,
+    long savedBytes,
+    long spilledBytes,
+    long commentBytes,
+    long compressedCommentBytes,
+    long duplicateIndexBytes
+) {
+}
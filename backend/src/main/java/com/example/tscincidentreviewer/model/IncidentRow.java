@@ -1,9 +1,20 @@
 package com.example.tscincidentreviewer.model;
 
+import java.util.List;
+
 public record IncidentRow(
     String issueKey,
     String issueLinks,
     String label,
-    String comment
+    String comment,
+    List<String> tags
 ) {
+
+  public IncidentRow(String issueKey, String issueLinks, String label, String comment) {
+    this(issueKey, issueLinks, label, comment, List.of());
+  }
+
+  public IncidentRow {
+    tags = tags == null ? List.of() : tags;
+  }
 }
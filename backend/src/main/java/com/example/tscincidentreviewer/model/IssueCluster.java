@@ -0,0 +1,11 @@
+package com.example.tscincidentreviewer.model;
+
+import java.util.List;
+
+public record IssueCluster(
+    int clusterId,
+    int incidentCount,
+    List<String> issueKeys,
+    List<String> linkedKeys
+) {
+}
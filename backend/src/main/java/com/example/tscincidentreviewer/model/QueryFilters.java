@@ -0,0 +1,26 @@
+package com.example.tscincidentreviewer.model;
+
+import java.util.List;
+import java.util.Objects;
+
+public record QueryFilters(
+    List<String> issueLinks,
+    List<String> labels,
+    List<String> tags,
+    String issueKeyContains,
+    String commentContains
+) {
+
+  public QueryFilters {
+    issueLinks = withoutNulls(issueLinks);
+    labels = withoutNulls(labels);
+    tags = withoutNulls(tags);
+    issueKeyContains = issueKeyContains == null ? "" : issueKeyContains.trim();
+    commentContains = commentContains == null ? "" : commentContains.trim();
+  }
+
+  // JSON like ["bug", null] would otherwise make List.copyOf throw and fail the request with a 500
+  private static List<String> withoutNulls(List<String> values) {
+    return values == null ? List.of() : values.stream().filter(Objects::nonNull).toList();
+  }
+}
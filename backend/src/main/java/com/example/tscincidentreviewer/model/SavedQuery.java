@@ -0,0 +1,7 @@
+package com.example.tscincidentreviewer.model;
+
+public record SavedQuery(
+    String name,
+    QueryFilters filters
+) {
+}
@@ -4,6 +4,7 @@ import java.util.List;
 
 public record Stats(
     List<StatRow> byIssueLinks,
-    List<StatRow> byLabel
+    List<StatRow> byLabel,
+    List<StatRow> byTag
 ) {
 }
@@ -0,0 +1,255 @@
+package com.example.tscincidentreviewer.service;
+
+import com.example.tscincidentreviewer.model.IncidentRow;
+import com.example.tscincidentreviewer.service.FlatBufferWriter.Table;
+import com.example.tscincidentreviewer.store.IncidentDataset;
+import com.example.tscincidentreviewer.store.StringDictionary;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Writes a dataset in the Arrow IPC streaming format: the schema, one dictionary batch each for
+ * issue links and labels (their values in dataset dictionary code order, so the row codes are the
+ * dictionary indices as they are), then record batches of at most {@code batchRows} rows and the
+ * end-of-stream marker. Only one batch is held in memory at a time.
+ */
+public final class ArrowIpcWriter {
+
+  public static final String MEDIA_TYPE = "application/vnd.apache.arrow.stream";
+  static final int DEFAULT_BATCH_ROWS = 8_192;
+
+  private static final short METADATA_V5 = 4;
+  private static final byte HEADER_SCHEMA = 1;
+  private static final byte HEADER_DICTIONARY_BATCH = 2;
+  private static final byte HEADER_RECORD_BATCH = 3;
+  private static final byte TYPE_UTF8 = 5;
+  private static final byte TYPE_LIST = 12;
+  private static final long ISSUE_LINKS_DICTIONARY_ID = 0;
+  private static final long LABEL_DICTIONARY_ID = 1;
+  private static final byte[] CONTINUATION = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF};
+
+  private final OutputStream output;
+
+  private ArrowIpcWriter(OutputStream output) {
+    this.output = output;
+  }
+
+  public static void write(IncidentDataset dataset, OutputStream output) throws IOException {
+    write(dataset, output, DEFAULT_BATCH_ROWS);
+  }
+
+  static void write(IncidentDataset dataset, OutputStream output, int batchRows) throws IOException {
+    ArrowIpcWriter writer = new ArrowIpcWriter(output);
+    writer.writeMessage(HEADER_SCHEMA, schema(), new Body());
+    writer.writeDictionary(ISSUE_LINKS_DICTIONARY_ID, dataset.issueLinks());
+    writer.writeDictionary(LABEL_DICTIONARY_ID, dataset.labels());
+
+    Iterator<IncidentRow> rows = dataset.items().iterator();
+    int rowIndex = 0;
+    while (rowIndex < dataset.size()) {
+      int count = Math.min(batchRows, dataset.size() - rowIndex);
+      writer.writeRecordBatch(dataset, rows, rowIndex, count);
+      rowIndex += count;
+    }
+
+    output.write(CONTINUATION);
+    output.write(new byte[4]);
+    output.flush();
+  }
+
+  private void writeDictionary(long id, StringDictionary dictionary) throws IOException {
+    Utf8Column values = new Utf8Column(dictionary.size());
+    for (int code = 0; code < dictionary.size(); code++) {
+      values.add(dictionary.valueOf(code));
+    }
+
+    Body body = new Body();
+    values.writeTo(body);
+    Table batch = new Table()
+        .addLong(0, id)
+        .addTable(1, body.recordBatch(dictionary.size()))
+        .addBool(2, false);
+    writeMessage(HEADER_DICTIONARY_BATCH, batch, body);
+  }
+
+  private void writeRecordBatch(IncidentDataset dataset, Iterator<IncidentRow> rows, int firstRow, int count)
+      throws IOException {
+    Utf8Column issueKeys = new Utf8Column(count);
+    Utf8Column comments = new Utf8Column(count);
+    int[] issueLinkCodes = new int[count];
+    int[] labelCodes = new int[count];
+    int[] tagOffsets = new int[count + 1];
+    Utf8Column tags = new Utf8Column(count);
+
+    for (int i = 0; i < count; i++) {
+      IncidentRow row = rows.next();
+      issueKeys.add(row.issueKey());
+      comments.add(row.comment());
+      issueLinkCodes[i] = dataset.issueLinkCode(firstRow + i);
+      labelCodes[i] = dataset.labelCode(firstRow + i);
+      for (String tag : row.tags()) {
+        tags.add(tag);
+      }
+      tagOffsets[i + 1] = tags.size();
+    }
+
+    Body body = new Body();
+    issueKeys.writeTo(body);
+    body.addNode(count);
+    body.addBuffer(new byte[0], 0);
+    body.addInts(issueLinkCodes, count);
+    body.addNode(count);
+    body.addBuffer(new byte[0], 0);
+    body.addInts(labelCodes, count);
+    comments.writeTo(body);
+    body.addNode(count);
+    body.addBuffer(new byte[0], 0);
+    body.addInts(tagOffsets, count + 1);
+    tags.writeTo(body);
+
+    writeMessage(HEADER_RECORD_BATCH, body.recordBatch(count), body);
+  }
+
+  private void writeMessage(byte headerType, Table header, Body body) throws IOException {
+    Table message = new Table()
+        .addShort(0, METADATA_V5)
+        .addByte(1, headerType)
+        .addTable(2, header)
+        .addLong(3, body.size);
+    byte[] metadata = FlatBufferWriter.finish(message);
+
+    byte[] prefix = new byte[8];
+    System.arraycopy(CONTINUATION, 0, prefix, 0, 4);
+    putInt(prefix, 4, metadata.length);
+    output.write(prefix);
+    output.write(metadata);
+    output.write(body.bytes, 0, body.size);
+  }
+
+  private static Table schema() {
+    return new Table().addTables(1, List.of(
+        utf8Field("issueKey"),
+        utf8Field("issueLinks").addTable(4, dictionaryEncoding(ISSUE_LINKS_DICTIONARY_ID)),
+        utf8Field("label").addTable(4, dictionaryEncoding(LABEL_DICTIONARY_ID)),
+        utf8Field("comment"),
+        new Table()
+            .addString(0, "tags")
+            .addBool(1, false)
+            .addByte(2, TYPE_LIST)
+            .addTable(3, new Table())
+            .addTables(5, List.of(utf8Field("item")))
+    ));
+  }
+
+  private static Table utf8Field(String name) {
+    return new Table()
+        .addString(0, name)
+        .addBool(1, false)
+        .addByte(2, TYPE_UTF8)
+        .addTable(3, new Table())
+        .addTables(5, List.of());
+  }
+
+  private static Table dictionaryEncoding(long id) {
+    return new Table()
+        .addLong(0, id)
+        .addTable(1, new Table().addInt(0, 32).addBool(1, true))
+        .addBool(2, false);
+  }
+
+  private static void putInt(byte[] target, int position, int value) {
+    for (int i = 0; i < 4; i++) {
+      target[position + i] = (byte) (value >>> (8 * i));
+    }
+  }
+
+  private static final class Utf8Column {
+
+    private int[] offsets;
+    private byte[] data = new byte[1024];
+    private int dataSize;
+    private int count;
+
+    private Utf8Column(int expectedCount) {
+      this.offsets = new int[expectedCount + 1];
+    }
+
+    void add(String value) {
+      byte[] encoded = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+      if (dataSize + encoded.length > data.length) {
+        data = Arrays.copyOf(data, Math.max(dataSize + encoded.length, data.length * 2));
+      }
+      System.arraycopy(encoded, 0, data, dataSize, encoded.length);
+      dataSize += encoded.length;
+
+      if (count + 2 > offsets.length) {
+        offsets = Arrays.copyOf(offsets, offsets.length * 2);
+      }
+      offsets[++count] = dataSize;
+    }
+
+    int size() {
+      return count;
+    }
+
+    void writeTo(Body body) {
+      body.addNode(count);
+      body.addBuffer(new byte[0], 0);
+      body.addInts(offsets, count + 1);
+      body.addBuffer(data, dataSize);
+    }
+  }
+
+  private static final class Body {
+
+    private byte[] bytes = new byte[4096];
+    private int size;
+    private long[] nodes = new long[16];
+    private int nodeValues;
+    private long[] buffers = new long[32];
+    private int bufferValues;
+
+    void addNode(int length) {
+      if (nodeValues + 2 > nodes.length) {
+        nodes = Arrays.copyOf(nodes, nodes.length * 2);
+      }
+      nodes[nodeValues++] = length;
+      nodes[nodeValues++] = 0;
+    }
+
+    void addInts(int[] values, int count) {
+      byte[] encoded = new byte[count * 4];
+      for (int i = 0; i < count; i++) {
+        putInt(encoded, i * 4, values[i]);
+      }
+      addBuffer(encoded, encoded.length);
+    }
+
+    void addBuffer(byte[] source, int length) {
+      int padded = (length + 7) & -8;
+      if (size + padded > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(size + padded, bytes.length * 2));
+      }
+      System.arraycopy(source, 0, bytes, size, length);
+      Arrays.fill(bytes, size + length, size + padded, (byte) 0);
+
+      if (bufferValues + 2 > buffers.length) {
+        buffers = Arrays.copyOf(buffers, buffers.length * 2);
+      }
+      buffers[bufferValues++] = size;
+      buffers[bufferValues++] = length;
+      size += padded;
+    }
+
+    Table recordBatch(int length) {
+      return new Table()
+          .addLong(0, length)
+          .addLongPairs(1, Arrays.copyOf(nodes, nodeValues))
+          .addLongPairs(2, Arrays.copyOf(buffers, bufferValues));
+    }
+  }
+}
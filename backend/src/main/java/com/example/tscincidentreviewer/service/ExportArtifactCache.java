@@ -0,0 +1,266 @@
+package com.example.tscincidentreviewer.service;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Size-bounded cache of generated export files, keyed by export format and dataset content
+ * version. Entries evicted from memory can optionally be spilled to a temp directory. Artifacts
+ * of older dataset versions are dropped as soon as a newer version is seen; a request for an
+ * older version is built for that caller only and leaves the cache as it is. Concurrent requests
+ * for the same artifact share one build.
+ */
+@Component
+public class ExportArtifactCache {
+
+  public record Artifact(String etag, byte[] content) {
+  }
+
+  @FunctionalInterface
+  public interface ArtifactBuilder {
+    byte[] build() throws IOException;
+  }
+
+  private record SpilledArtifact(Path path, long size) {
+  }
+
+  private static final Logger log = LoggerFactory.getLogger(ExportArtifactCache.class);
+
+  private static final long DEFAULT_MAX_MEMORY_BYTES = 64L * 1024 * 1024;
+  private static final long DEFAULT_MAX_SPILL_BYTES = 256L * 1024 * 1024;
+
+  private final Map<String, byte[]> memoryEntries = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<String, SpilledArtifact> spilledEntries = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<String, CompletableFuture<byte[]>> inFlightBuilds = new HashMap<>();
+
+  private long maxMemoryBytes = DEFAULT_MAX_MEMORY_BYTES;
+  private long maxSpillBytes = DEFAULT_MAX_SPILL_BYTES;
+  private boolean spillEnabled;
+
+  private long currentVersion = Long.MIN_VALUE;
+  private long memoryBytes;
+  private long spilledBytes;
+  private Path spillDirectory;
+
+  public ExportArtifactCache() {
+  }
+
+  ExportArtifactCache(long maxMemoryBytes, boolean spillEnabled, long maxSpillBytes) {
+    this.maxMemoryBytes = maxMemoryBytes;
+    this.spillEnabled = spillEnabled;
+    this.maxSpillBytes = maxSpillBytes;
+  }
+
+  @Value("${app.export.cache.max-bytes:67108864}")
+  void setMaxMemoryBytes(long maxMemoryBytes) {
+    this.maxMemoryBytes = Math.max(0, maxMemoryBytes);
+  }
+
+  @Value("${app.export.cache.spill-enabled:false}")
+  void setSpillEnabled(boolean spillEnabled) {
+    this.spillEnabled = spillEnabled;
+  }
+
+  @Value("${app.export.cache.max-spill-bytes:268435456}")
+  void setMaxSpillBytes(long maxSpillBytes) {
+    this.maxSpillBytes = Math.max(0, maxSpillBytes);
+  }
+
+  public static String etagFor(String format, String contentVersion) {
+    return "\"" + format + "-" + contentVersion + "\"";
+  }
+
+  /**
+   * Returns the cached artifact of {@code format} for dataset {@code version}, building it at most
+   * once while the version is current.
+   */
+  public Artifact getOrBuild(String format, long version, String contentVersion, ArtifactBuilder builder)
+      throws IOException {
+    String key = format + ":" + contentVersion;
+    String etag = etagFor(format, contentVersion);
+
+    CompletableFuture<byte[]> build = new CompletableFuture<>();
+    CompletableFuture<byte[]> claimed = claim(key, version, build);
+    if (claimed == null) {
+      return new Artifact(etag, builder.build());
+    }
+    if (claimed != build) {
+      return new Artifact(etag, await(claimed));
+    }
+
+    try {
+      byte[] content = builder.build();
+      synchronized (this) {
+        inFlightBuilds.remove(key, build);
+        store(key, version, content);
+      }
+      build.complete(content);
+      return new Artifact(etag, content);
+    } catch (IOException | RuntimeException | Error ex) {
+      synchronized (this) {
+        inFlightBuilds.remove(key, build);
+      }
+      build.completeExceptionally(ex);
+      throw ex;
+    }
+  }
+
+  @PreDestroy
+  public synchronized void clear() {
+    memoryEntries.clear();
+    memoryBytes = 0;
+
+    for (SpilledArtifact spilled : spilledEntries.values()) {
+      deleteQuietly(spilled.path());
+    }
+    spilledEntries.clear();
+    spilledBytes = 0;
+  }
+
+  synchronized long memoryBytes() {
+    return memoryBytes;
+  }
+
+  synchronized long spilledBytes() {
+    return spilledBytes;
+  }
+
+  /**
+   * Returns {@code build} if the caller should run it, the cached or in-flight artifact otherwise,
+   * or {@code null} when {@code version} is older than the current one and must not be cached.
+   */
+  private synchronized CompletableFuture<byte[]> claim(String key, long version, CompletableFuture<byte[]> build) {
+    if (version < currentVersion) {
+      return null;
+    }
+    advanceTo(version);
+
+    byte[] cached = lookup(key);
+    if (cached != null) {
+      return CompletableFuture.completedFuture(cached);
+    }
+    CompletableFuture<byte[]> running = inFlightBuilds.putIfAbsent(key, build);
+    return running != null ? running : build;
+  }
+
+  private byte[] lookup(String key) {
+    byte[] inMemory = memoryEntries.get(key);
+    if (inMemory != null) {
+      return inMemory;
+    }
+
+    SpilledArtifact spilled = spilledEntries.get(key);
+    if (spilled == null) {
+      return null;
+    }
+
+    try {
+      return Files.readAllBytes(spilled.path());
+    } catch (IOException ex) {
+      log.warn("Dropping unreadable spilled export artifact {}", spilled.path(), ex);
+      spilledEntries.remove(key);
+      spilledBytes -= spilled.size();
+      deleteQuietly(spilled.path());
+      return null;
+    }
+  }
+
+  private void store(String key, long version, byte[] content) {
+    if (version != currentVersion) {
+      return;
+    }
+    if (memoryEntries.containsKey(key) || spilledEntries.containsKey(key)) {
+      return;
+    }
+
+    if (content.length > maxMemoryBytes) {
+      spill(key, content);
+      return;
+    }
+
+    memoryEntries.put(key, content);
+    memoryBytes += content.length;
+
+    Iterator<Map.Entry<String, byte[]>> iterator = memoryEntries.entrySet().iterator();
+    while (memoryBytes > maxMemoryBytes && iterator.hasNext()) {
+      Map.Entry<String, byte[]> eldest = iterator.next();
+      iterator.remove();
+      memoryBytes -= eldest.getValue().length;
+      spill(eldest.getKey(), eldest.getValue());
+    }
+  }
+
+  private void advanceTo(long version) {
+    if (version == currentVersion) {
+      return;
+    }
+    clear();
+    currentVersion = version;
+  }
+
+  private static byte[] await(CompletableFuture<byte[]> build) throws IOException {
+    try {
+      return build.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof IOException io) {
+        throw io;
+      }
+      if (ex.getCause() instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      if (ex.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw ex;
+    }
+  }
+
+  private void spill(String key, byte[] content) {
+    if (!spillEnabled || content.length > maxSpillBytes) {
+      return;
+    }
+
+    try {
+      if (spillDirectory == null) {
+        spillDirectory = Files.createTempDirectory("tsc-export-cache-");
+        spillDirectory.toFile().deleteOnExit();
+      }
+
+      Path path = Files.createTempFile(spillDirectory, "artifact-", ".bin");
+      Files.write(path, content);
+      spilledEntries.put(key, new SpilledArtifact(path, content.length));
+      spilledBytes += content.length;
+    } catch (IOException ex) {
+      log.warn("Failed to spill export artifact {} to disk", key, ex);
+      return;
+    }
+
+    Iterator<SpilledArtifact> iterator = spilledEntries.values().iterator();
+    while (spilledBytes > maxSpillBytes && iterator.hasNext()) {
+      SpilledArtifact eldest = iterator.next();
+      iterator.remove();
+      spilledBytes -= eldest.size();
+      deleteQuietly(eldest.path());
+    }
+  }
+
+  private void deleteQuietly(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException ex) {
+      log.warn("Failed to delete spilled export artifact {}", path, ex);
+    }
+  }
+}
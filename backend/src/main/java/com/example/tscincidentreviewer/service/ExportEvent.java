@@ -0,0 +1,43 @@
+package com.example.tscincidentreviewer.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.tscincidentreviewer.Export")
+@Label("Dataset Export")
+@Category({"TSC Incident Reviewer", "Export"})
+@Description("Time spent building or streaming one export of the stored dataset")
+@StackTrace(false)
+public final class ExportEvent extends Event {
+
+  @Label("Format")
+  String format;
+
+  @Label("Rows")
+  long rows;
+
+  @Label("Bytes")
+  @DataAmount
+  long bytes;
+
+  public static ExportEvent begin(String format, int rows) {
+    ExportEvent event = new ExportEvent();
+    event.format = format;
+    event.rows = rows;
+    event.begin();
+    return event;
+  }
+
+  public void finish(long bytes) {
+    end();
+    if (shouldCommit()) {
+      this.bytes = bytes;
+      commit();
+    }
+  }
+}
@@ -0,0 +1,230 @@
+package com.example.tscincidentreviewer.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Minimal FlatBuffers encoder for the handful of Arrow IPC metadata tables. Unlike the reference
+ * builder it lays tables out front to back: a parent is written first and the unsigned offsets to
+ * its children are patched once the children follow it, which keeps every offset pointing forward
+ * as the format requires.
+ */
+final class FlatBufferWriter {
+
+  private byte[] bytes = new byte[512];
+  private int size;
+
+  static byte[] finish(Table root) {
+    FlatBufferWriter writer = new FlatBufferWriter();
+    writer.size = 4;
+    writer.patch(0, writer.writeTable(root));
+    writer.align(8);
+    return Arrays.copyOf(writer.bytes, writer.size);
+  }
+
+  private int writeTable(Table table) {
+    int maxId = -1;
+    for (Slot slot : table.slots) {
+      maxId = Math.max(maxId, slot.id);
+    }
+
+    List<Slot> ordered = new ArrayList<>(table.slots);
+    ordered.sort((left, right) -> Integer.compare(right.width(), left.width()));
+    int[] slotOffsets = new int[maxId + 1];
+    int inlineSize = 4;
+    for (Slot slot : ordered) {
+      inlineSize = alignUp(inlineSize, slot.width());
+      slotOffsets[slot.id] = inlineSize;
+      inlineSize += slot.width();
+    }
+
+    align(2);
+    int vtablePos = size;
+    putShort(vtablePos, 4 + 2 * (maxId + 1));
+    putShort(vtablePos + 2, inlineSize);
+    for (int id = 0; id <= maxId; id++) {
+      putShort(vtablePos + 4 + 2 * id, slotOffsets[id]);
+    }
+    size = vtablePos + 4 + 2 * (maxId + 1);
+
+    align(8);
+    int tablePos = size;
+    ensureCapacity(tablePos + inlineSize);
+    putInt(tablePos, tablePos - vtablePos);
+    size = tablePos + inlineSize;
+
+    for (Slot slot : ordered) {
+      int position = tablePos + slotOffsets[slot.id];
+      switch (slot.width()) {
+        case 1 -> bytes[position] = (byte) slot.value;
+        case 2 -> putShort(position, (int) slot.value);
+        case 8 -> putLong(position, slot.value);
+        default -> {
+          if (slot.child == null) {
+            putInt(position, (int) slot.value);
+          }
+        }
+      }
+    }
+
+    for (Slot slot : ordered) {
+      if (slot.child != null) {
+        patch(tablePos + slotOffsets[slot.id], writeChild(slot.child));
+      }
+    }
+    return tablePos;
+  }
+
+  private int writeChild(Object child) {
+    if (child instanceof Table table) {
+      return writeTable(table);
+    }
+    if (child instanceof String value) {
+      return writeString(value);
+    }
+    if (child instanceof long[] structs) {
+      return writeLongPairs(structs);
+    }
+
+    @SuppressWarnings("unchecked")
+    List<Table> tables = (List<Table>) child;
+    align(4);
+    int vectorPos = size;
+    ensureCapacity(vectorPos + 4 + 4 * tables.size());
+    putInt(vectorPos, tables.size());
+    size = vectorPos + 4 + 4 * tables.size();
+    for (int i = 0; i < tables.size(); i++) {
+      patch(vectorPos + 4 + 4 * i, writeTable(tables.get(i)));
+    }
+    return vectorPos;
+  }
+
+  private int writeString(String value) {
+    byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+    align(4);
+    int stringPos = size;
+    ensureCapacity(stringPos + 4 + encoded.length + 1);
+    putInt(stringPos, encoded.length);
+    System.arraycopy(encoded, 0, bytes, stringPos + 4, encoded.length);
+    bytes[stringPos + 4 + encoded.length] = 0;
+    size = stringPos + 4 + encoded.length + 1;
+    return stringPos;
+  }
+
+  private int writeLongPairs(long[] values) {
+    align(4);
+    if (size % 8 == 0) {
+      pad(4);
+    }
+    int vectorPos = size;
+    ensureCapacity(vectorPos + 4 + 8 * values.length);
+    putInt(vectorPos, values.length / 2);
+    for (int i = 0; i < values.length; i++) {
+      putLong(vectorPos + 4 + 8 * i, values[i]);
+    }
+    size = vectorPos + 4 + 8 * values.length;
+    return vectorPos;
+  }
+
+  private void patch(int slotPos, int targetPos) {
+    putInt(slotPos, targetPos - slotPos);
+  }
+
+  private void align(int alignment) {
+    pad(alignUp(size, alignment) - size);
+  }
+
+  private void pad(int count) {
+    ensureCapacity(size + count);
+    Arrays.fill(bytes, size, size + count, (byte) 0);
+    size += count;
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (capacity > bytes.length) {
+      bytes = Arrays.copyOf(bytes, Math.max(capacity, bytes.length * 2));
+    }
+  }
+
+  private void putShort(int position, int value) {
+    ensureCapacity(position + 2);
+    bytes[position] = (byte) value;
+    bytes[position + 1] = (byte) (value >>> 8);
+  }
+
+  private void putInt(int position, int value) {
+    ensureCapacity(position + 4);
+    for (int i = 0; i < 4; i++) {
+      bytes[position + i] = (byte) (value >>> (8 * i));
+    }
+  }
+
+  private void putLong(int position, long value) {
+    ensureCapacity(position + 8);
+    for (int i = 0; i < 8; i++) {
+      bytes[position + i] = (byte) (value >>> (8 * i));
+    }
+  }
+
+  private static int alignUp(int value, int alignment) {
+    return (value + alignment - 1) & -alignment;
+  }
+
+  private record Slot(int id, int width, long value, Object child) {
+  }
+
+  /**
+   * Fields of one table, addressed by their schema field id. Scalars are stored inline; strings,
+   * tables, table vectors and vectors of two-long structs are written after the table.
+   */
+  static final class Table {
+
+    private final List<Slot> slots = new ArrayList<>();
+
+    Table addBool(int id, boolean value) {
+      return addByte(id, value ? 1 : 0);
+    }
+
+    Table addByte(int id, int value) {
+      slots.add(new Slot(id, 1, value, null));
+      return this;
+    }
+
+    Table addShort(int id, int value) {
+      slots.add(new Slot(id, 2, value, null));
+      return this;
+    }
+
+    Table addInt(int id, int value) {
+      slots.add(new Slot(id, 4, value, null));
+      return this;
+    }
+
+    Table addLong(int id, long value) {
+      slots.add(new Slot(id, 8, value, null));
+      return this;
+    }
+
+    Table addString(int id, String value) {
+      slots.add(new Slot(id, 4, 0, value));
+      return this;
+    }
+
+    Table addTable(int id, Table value) {
+      slots.add(new Slot(id, 4, 0, value));
+      return this;
+    }
+
+    Table addTables(int id, List<Table> values) {
+      slots.add(new Slot(id, 4, 0, List.copyOf(values)));
+      return this;
+    }
+
+    Table addLongPairs(int id, long[] values) {
+      slots.add(new Slot(id, 4, 0, values));
+      return this;
+    }
+  }
+}
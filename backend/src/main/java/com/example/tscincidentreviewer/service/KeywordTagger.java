@@ -0,0 +1,297 @@
+package com.example.tscincidentreviewer.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Aho-Corasick automaton over a keyword dictionary. All keywords are matched case-insensitively in
+ * one pass over the text, independent of how many keywords there are. A keyword that starts or
+ * ends with a letter or digit must not be glued to another one there, so {@code api} does not
+ * match {@code rapid}. The same keyword may be listed under several tags and then yields all of
+ * them.
+ *
+ * <p>Instances are immutable and safe to share between concurrent parses.
+ */
+public final class KeywordTagger {
+
+  private static final KeywordTagger EMPTY = build(Map.of());
+
+  private final List<String> tags;
+  private final int[] edgeStart;
+  private final char[] edgeChars;
+  private final int[] edgeTargets;
+  private final int[] failure;
+  private final int[] outputLink;
+  private final int[] nodeKeyword;
+  private final int[] keywordLength;
+  private final int[] keywordTagStart;
+  private final int[] keywordTags;
+
+  private KeywordTagger(
+      List<String> tags,
+      int[] edgeStart,
+      char[] edgeChars,
+      int[] edgeTargets,
+      int[] failure,
+      int[] outputLink,
+      int[] nodeKeyword,
+      int[] keywordLength,
+      int[] keywordTagStart,
+      int[] keywordTags
+  ) {
+    this.tags = tags;
+    this.edgeStart = edgeStart;
+    this.edgeChars = edgeChars;
+    this.edgeTargets = edgeTargets;
+    this.failure = failure;
+    this.outputLink = outputLink;
+    this.nodeKeyword = nodeKeyword;
+    this.keywordLength = keywordLength;
+    this.keywordTagStart = keywordTagStart;
+    this.keywordTags = keywordTags;
+  }
+
+  public static KeywordTagger empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Reads a dictionary with one tag per line: {@code tag = keyword | another phrase | ERR-42}.
+   * Blank lines and lines starting with {@code #} are ignored; a tag may span several lines.
+   */
+  public static KeywordTagger parse(Reader reader) throws IOException {
+    Map<String, List<String>> keywordsByTag = new LinkedHashMap<>();
+    BufferedReader lines = new BufferedReader(reader);
+    String line;
+    int lineNumber = 0;
+
+    while ((line = lines.readLine()) != null) {
+      lineNumber++;
+      String trimmed = line.strip();
+      if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+        continue;
+      }
+
+      int separator = trimmed.indexOf('=');
+      String tag = separator < 0 ? "" : trimmed.substring(0, separator).strip();
+      if (tag.isEmpty()) {
+        throw new IllegalArgumentException("tagging dictionary line " + lineNumber + " must look like 'tag = keyword | keyword'");
+      }
+
+      List<String> keywords = keywordsByTag.computeIfAbsent(tag, key -> new ArrayList<>());
+      for (String keyword : trimmed.substring(separator + 1).split("\\|")) {
+        if (!keyword.isBlank()) {
+          keywords.add(keyword.strip());
+        }
+      }
+    }
+
+    return build(keywordsByTag);
+  }
+
+  public static KeywordTagger build(Map<String, ? extends List<String>> keywordsByTag) {
+    List<String> tags = new ArrayList<>();
+    List<Map<Character, Integer>> children = new ArrayList<>();
+    List<Integer> nodeKeywords = new ArrayList<>();
+    List<Integer> lengths = new ArrayList<>();
+    List<List<Integer>> keywordTags = new ArrayList<>();
+    children.add(new HashMap<>());
+    nodeKeywords.add(-1);
+
+    for (Map.Entry<String, ? extends List<String>> entry : keywordsByTag.entrySet()) {
+      int tagId = tags.size();
+      tags.add(entry.getKey());
+
+      for (String keyword : entry.getValue()) {
+        if (keyword == null || keyword.isBlank()) {
+          continue;
+        }
+
+        String normalized = keyword.strip();
+        int node = 0;
+        for (int i = 0; i < normalized.length(); i++) {
+          char next = Character.toLowerCase(normalized.charAt(i));
+          Integer child = children.get(node).get(next);
+          if (child == null) {
+            child = children.size();
+            children.get(node).put(next, child);
+            children.add(new HashMap<>());
+            nodeKeywords.add(-1);
+          }
+          node = child;
+        }
+
+        if (nodeKeywords.get(node) < 0) {
+          nodeKeywords.set(node, lengths.size());
+          lengths.add(normalized.length());
+          keywordTags.add(new ArrayList<>(1));
+        }
+        List<Integer> tagIds = keywordTags.get(nodeKeywords.get(node));
+        if (!tagIds.contains(tagId)) {
+          tagIds.add(tagId);
+        }
+      }
+    }
+
+    int nodeCount = children.size();
+    int edgeCount = 0;
+    for (Map<Character, Integer> edges : children) {
+      edgeCount += edges.size();
+    }
+
+    int[] edgeStart = new int[nodeCount + 1];
+    char[] edgeChars = new char[edgeCount];
+    int[] edgeTargets = new int[edgeCount];
+    int cursor = 0;
+    for (int node = 0; node < nodeCount; node++) {
+      edgeStart[node] = cursor;
+      for (Map.Entry<Character, Integer> edge : new TreeMap<>(children.get(node)).entrySet()) {
+        edgeChars[cursor] = edge.getKey();
+        edgeTargets[cursor] = edge.getValue();
+        cursor++;
+      }
+    }
+    edgeStart[nodeCount] = cursor;
+
+    int[] nodeKeyword = nodeKeywords.stream().mapToInt(Integer::intValue).toArray();
+    int[] failure = new int[nodeCount];
+    int[] outputLink = new int[nodeCount];
+    Arrays.fill(outputLink, -1);
+
+    ArrayDeque<Integer> queue = new ArrayDeque<>();
+    for (int edge = edgeStart[0]; edge < edgeStart[1]; edge++) {
+      queue.add(edgeTargets[edge]);
+    }
+    while (!queue.isEmpty()) {
+      int node = queue.poll();
+      for (int edge = edgeStart[node]; edge < edgeStart[node + 1]; edge++) {
+        int child = edgeTargets[edge];
+        int fallback = failure[node];
+        int target;
+        while ((target = step(edgeStart, edgeChars, edgeTargets, fallback, edgeChars[edge])) < 0 && fallback != 0) {
+          fallback = failure[fallback];
+        }
+        failure[child] = target < 0 ? 0 : target;
+        outputLink[child] = nodeKeyword[failure[child]] >= 0 ? failure[child] : outputLink[failure[child]];
+        queue.add(child);
+      }
+    }
+
+    int[] keywordTagStart = new int[keywordTags.size() + 1];
+    for (int keyword = 0; keyword < keywordTags.size(); keyword++) {
+      keywordTagStart[keyword + 1] = keywordTagStart[keyword] + keywordTags.get(keyword).size();
+    }
+    int[] flatKeywordTags = keywordTags.stream().flatMap(List::stream).mapToInt(Integer::intValue).toArray();
+
+    return new KeywordTagger(
+        List.copyOf(tags),
+        edgeStart,
+        edgeChars,
+        edgeTargets,
+        failure,
+        outputLink,
+        nodeKeyword,
+        lengths.stream().mapToInt(Integer::intValue).toArray(),
+        keywordTagStart,
+        flatKeywordTags
+    );
+  }
+
+  public boolean isEmpty() {
+    return keywordLength.length == 0;
+  }
+
+  public int keywordCount() {
+    return keywordLength.length;
+  }
+
+  public List<String> tags() {
+    return tags;
+  }
+
+  /**
+   * Returns the distinct tags whose keywords occur in {@code text}, in dictionary order. The
+   * returned strings are the dictionary's own instances, so rows share them.
+   */
+  public List<String> tag(String text) {
+    if (isEmpty() || text == null || text.isEmpty()) {
+      return List.of();
+    }
+
+    boolean[] found = null;
+    int foundCount = 0;
+    int node = 0;
+
+    for (int i = 0; i < text.length(); i++) {
+      char next = Character.toLowerCase(text.charAt(i));
+      int target;
+      while ((target = step(edgeStart, edgeChars, edgeTargets, node, next)) < 0 && node != 0) {
+        node = failure[node];
+      }
+      node = target < 0 ? 0 : target;
+
+      for (int match = nodeKeyword[node] >= 0 ? node : outputLink[node]; match >= 0; match = outputLink[match]) {
+        int keyword = nodeKeyword[match];
+        int start = i - keywordLength[keyword] + 1;
+        if (!isWordBoundary(text, start - 1, start) || !isWordBoundary(text, i, i + 1)) {
+          continue;
+        }
+        if (found == null) {
+          found = new boolean[tags.size()];
+        }
+        for (int t = keywordTagStart[keyword]; t < keywordTagStart[keyword + 1]; t++) {
+          if (!found[keywordTags[t]]) {
+            found[keywordTags[t]] = true;
+            foundCount++;
+          }
+        }
+      }
+    }
+
+    if (found == null) {
+      return List.of();
+    }
+
+    String[] matched = new String[foundCount];
+    int cursor = 0;
+    for (int tagId = 0; tagId < found.length; tagId++) {
+      if (found[tagId]) {
+        matched[cursor++] = tags.get(tagId);
+      }
+    }
+    return List.of(matched);
+  }
+
+  private static int step(int[] edgeStart, char[] edgeChars, int[] edgeTargets, int node, char next) {
+    int low = edgeStart[node];
+    int high = edgeStart[node + 1] - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      char candidate = edgeChars[mid];
+      if (candidate < next) {
+        low = mid + 1;
+      } else if (candidate > next) {
+        high = mid - 1;
+      } else {
+        return edgeTargets[mid];
+      }
+    }
+    return -1;
+  }
+
+  private static boolean isWordBoundary(String text, int before, int after) {
+    return before < 0
+        || after >= text.length()
+        || !Character.isLetterOrDigit(text.charAt(before))
+        || !Character.isLetterOrDigit(text.charAt(after));
+  }
+}
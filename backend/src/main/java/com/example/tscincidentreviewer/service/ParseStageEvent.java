@@ -0,0 +1,48 @@
+package com.example.tscincidentreviewer.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One stage of {@link XlsxParseService#parse}: reading the upload, opening the table, rows, finish. */
+@Name("com.example.tscincidentreviewer.ParseStage")
+@Label("Upload Parse Stage")
+@Category({"TSC Incident Reviewer", "Upload"})
+@Description("Time spent in one stage of parsing an uploaded CSV or XLSX file")
+@StackTrace(false)
+final class ParseStageEvent extends Event {
+
+  @Label("Stage")
+  String stage;
+
+  @Label("Format")
+  String format;
+
+  @Label("Rows")
+  long rows;
+
+  @Label("Bytes")
+  @DataAmount
+  long bytes;
+
+  static ParseStageEvent begin(String stage, String format) {
+    ParseStageEvent event = new ParseStageEvent();
+    event.stage = stage;
+    event.format = format;
+    event.begin();
+    return event;
+  }
+
+  void finish(long rows, long bytes) {
+    end();
+    if (shouldCommit()) {
+      this.rows = rows;
+      this.bytes = bytes;
+      commit();
+    }
+  }
+}
@@ -0,0 +1,244 @@
+package com.example.tscincidentreviewer.service;
+
+import com.example.tscincidentreviewer.dto.SavedQueryResult;
+import com.example.tscincidentreviewer.model.IncidentRow;
+import com.example.tscincidentreviewer.model.QueryFilters;
+import com.example.tscincidentreviewer.model.SavedQuery;
+import com.example.tscincidentreviewer.model.StatRow;
+import com.example.tscincidentreviewer.model.Stats;
+import com.example.tscincidentreviewer.store.IncidentDataset;
+import com.example.tscincidentreviewer.store.IncidentStore;
+import com.example.tscincidentreviewer.store.StringDictionary;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+import org.springframework.stereotype.Service;
+
+/**
+ * Named filter combinations kept on the server. The first run against a dataset materializes the
+ * matching row ids and facet counts; later runs page through that result until a new upload
+ * replaces the dataset, at which point the next run recomputes it.
+ */
+@Service
+public class SavedQueryService {
+
+  static final int MAX_SAVED_QUERIES = 200;
+  private static final Pattern NAME_PATTERN = Pattern.compile("[A-Za-z0-9][A-Za-z0-9 _.-]{0,99}");
+  private static final String EMPTY_BUCKET = "(empty)";
+
+  private final IncidentStore incidentStore;
+  private final ConcurrentMap<String, Entry> queries = new ConcurrentHashMap<>();
+
+  public SavedQueryService(IncidentStore incidentStore) {
+    this.incidentStore = incidentStore;
+  }
+
+  public SavedQuery save(String name, QueryFilters filters) {
+    if (name == null || !NAME_PATTERN.matcher(name).matches()) {
+      throw new IllegalArgumentException(
+          "query name must be 1-100 letters, digits, spaces, '.', '_' or '-' and start with a letter or digit");
+    }
+    if (filters == null) {
+      throw new IllegalArgumentException("query filters are required");
+    }
+
+    SavedQuery query = new SavedQuery(name, filters);
+    queries.compute(name, (key, existing) -> {
+      if (existing == null && queries.size() >= MAX_SAVED_QUERIES) {
+        throw new IllegalArgumentException("at most " + MAX_SAVED_QUERIES + " saved queries are allowed");
+      }
+      return new Entry(query);
+    });
+    return query;
+  }
+
+  public List<SavedQuery> list() {
+    return queries.values().stream()
+        .map(entry -> entry.query)
+        .sorted(Comparator.comparing(SavedQuery::name))
+        .toList();
+  }
+
+  public Optional<SavedQuery> find(String name) {
+    return Optional.ofNullable(queries.get(name)).map(entry -> entry.query);
+  }
+
+  public boolean delete(String name) {
+    return queries.remove(name) != null;
+  }
+
+  public SavedQueryResult run(String name, int offset, int limit) {
+    Entry entry = queries.get(name);
+    if (entry == null) {
+      throw new IllegalArgumentException("unknown saved query: " + name);
+    }
+    IncidentDataset dataset = incidentStore.leaseLatest()
+        .orElseThrow(() -> new IllegalArgumentException("no dataset uploaded"));
+    try {
+      Materialized materialized = entry.materialized;
+      boolean cached = materialized != null && materialized.datasetVersion() == dataset.version();
+      if (!cached) {
+        materialized = materialize(dataset, entry.query.filters());
+        entry.offer(materialized);
+      }
+
+      int[] rowIds = materialized.rowIds();
+      int from = Math.min(offset, rowIds.length);
+      int to = Math.min(rowIds.length, from + limit);
+      List<IncidentRow> items = new ArrayList<>(to - from);
+      for (int i = from; i < to; i++) {
+        items.add(dataset.items().get(rowIds[i]));
+      }
+
+      return new SavedQueryResult(
+          name,
+          dataset.contentVersion(),
+          cached,
+          rowIds.length,
+          materialized.facets(),
+          from,
+          items
+      );
+    } finally {
+      dataset.release();
+    }
+  }
+
+  static Materialized materialize(IncidentDataset dataset, QueryFilters filters) {
+    boolean[] issueLinkSelection = toSelection(dataset.issueLinks(), filters.issueLinks());
+    boolean[] labelSelection = toSelection(dataset.labels(), filters.labels());
+    Set<String> tagSelection = new HashSet<>(filters.tags());
+    String issueKeyQuery = filters.issueKeyContains().toLowerCase(Locale.ROOT);
+    String commentQuery = filters.commentContains().toLowerCase(Locale.ROOT);
+
+    int[] matches = new int[dataset.size()];
+    int matchCount = 0;
+    int[] issueLinkCounts = new int[dataset.issueLinks().size()];
+    int[] labelCounts = new int[dataset.labels().size()];
+    Map<String, Integer> tagCounts = new HashMap<>();
+    Iterator<IncidentRow> rows = dataset.items().iterator();
+
+    for (int rowId = 0; rowId < dataset.size(); rowId++) {
+      IncidentRow row = rows.next();
+      int issueLinkCode = dataset.issueLinkCode(rowId);
+      int labelCode = dataset.labelCode(rowId);
+
+      if (issueLinkSelection != null && !issueLinkSelection[issueLinkCode]) {
+        continue;
+      }
+      if (labelSelection != null && !labelSelection[labelCode]) {
+        continue;
+      }
+      if (!matchesRow(row, tagSelection, issueKeyQuery, commentQuery)) {
+        continue;
+      }
+
+      matches[matchCount++] = rowId;
+      issueLinkCounts[issueLinkCode]++;
+      labelCounts[labelCode]++;
+      for (String tag : row.tags()) {
+        tagCounts.merge(tag, 1, Integer::sum);
+      }
+    }
+
+    Stats facets = new Stats(
+        toStatRows(dataset.issueLinks(), issueLinkCounts, matchCount),
+        toStatRows(dataset.labels(), labelCounts, matchCount),
+        toStatRows(tagCounts, matchCount)
+    );
+    return new Materialized(dataset.version(), Arrays.copyOf(matches, matchCount), facets);
+  }
+
+  private static boolean matchesRow(
+      IncidentRow row,
+      Set<String> tagSelection,
+      String issueKeyQuery,
+      String commentQuery
+  ) {
+    if (!tagSelection.isEmpty() && row.tags().stream().noneMatch(tagSelection::contains)) {
+      return false;
+    }
+    if (!issueKeyQuery.isEmpty() && !row.issueKey().toLowerCase(Locale.ROOT).contains(issueKeyQuery)) {
+      return false;
+    }
+    return commentQuery.isEmpty() || row.comment().toLowerCase(Locale.ROOT).contains(commentQuery);
+  }
+
+  private static boolean[] toSelection(StringDictionary dictionary, List<String> values) {
+    if (values.isEmpty()) {
+      return null;
+    }
+
+    boolean[] selection = new boolean[dictionary.size()];
+    for (String value : values) {
+      String key = value == null || EMPTY_BUCKET.equals(value.trim()) ? "" : value.trim();
+      int code = dictionary.findCode(key);
+      if (code >= 0) {
+        selection[code] = true;
+      }
+    }
+    return selection;
+  }
+
+  private static List<StatRow> toStatRows(StringDictionary dictionary, int[] counts, int total) {
+    Map<String, Integer> byName = new HashMap<>();
+    for (int code = 0; code < counts.length; code++) {
+      if (counts[code] > 0) {
+        String value = dictionary.valueOf(code);
+        byName.merge(value.isBlank() ? EMPTY_BUCKET : value, counts[code], Integer::sum);
+      }
+    }
+    return toStatRows(byName, total);
+  }
+
+  private static List<StatRow> toStatRows(Map<String, Integer> counts, int total) {
+    if (total == 0) {
+      return List.of();
+    }
+
+    return counts.entrySet().stream()
+        .sorted((left, right) -> {
+          int compareCount = Integer.compare(right.getValue(), left.getValue());
+          if (compareCount != 0) {
+            return compareCount;
+          }
+          return left.getKey().compareToIgnoreCase(right.getKey());
+        })
+        .map(entry -> new StatRow(
+            entry.getKey(),
+            entry.getValue(),
+            Math.round(entry.getValue() * 1000.0 / total) / 10.0
+        ))
+        .toList();
+  }
+
+  record Materialized(long datasetVersion, int[] rowIds, Stats facets) {
+  }
+
+  private static final class Entry {
+
+    private final SavedQuery query;
+    private volatile Materialized materialized;
+
+    private Entry(SavedQuery query) {
+      this.query = query;
+    }
+
+    private synchronized void offer(Materialized candidate) {
+      if (materialized == null || candidate.datasetVersion() > materialized.datasetVersion()) {
+        materialized = candidate;
+      }
+    }
+  }
+}
@@ -0,0 +1,256 @@
+package com.example.tscincidentreviewer.service;
+
+import com.example.tscincidentreviewer.model.DiagnosticRecording;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps a continuous Java Flight Recorder recording in a bounded ring and writes it to a file when
+ * an upload or export takes longer than the configured threshold, so the file covers the slow
+ * operation itself rather than whatever runs after it. Parse stages and exports show up as
+ * {@link ParseStageEvent} and {@link ExportEvent}. Dumps run on a background thread, at most one
+ * per minimum interval, and only the newest recordings are kept.
+ */
+@Component
+public class SlowOperationRecorder {
+
+  private static final Logger log = LoggerFactory.getLogger(SlowOperationRecorder.class);
+
+  private static final Pattern RECORDING_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]*\\.jfr");
+  private static final Pattern OPERATION_NAME = Pattern.compile("[^A-Za-z0-9-]");
+
+  private boolean enabled;
+  private Duration threshold = Duration.ofSeconds(5);
+  private Duration maxAge = Duration.ofMinutes(5);
+  private long maxSizeBytes = 64L * 1024 * 1024;
+  private Duration minDumpInterval = Duration.ofMinutes(1);
+  private int maxRecordings = 10;
+  private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "tsc-incident-reviewer-jfr");
+
+  private final AtomicLong lastDumpNanos = new AtomicLong();
+  private Recording recording;
+  private ExecutorService ownedExecutor;
+  private Executor dumpExecutor;
+
+  @Value("${app.diagnostics.jfr.enabled:false}")
+  void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  @Value("${app.diagnostics.jfr.slow-threshold-ms:5000}")
+  void setThresholdMillis(long thresholdMillis) {
+    this.threshold = Duration.ofMillis(Math.max(0, thresholdMillis));
+  }
+
+  @Value("${app.diagnostics.jfr.max-age-seconds:300}")
+  void setMaxAgeSeconds(long maxAgeSeconds) {
+    this.maxAge = Duration.ofSeconds(Math.max(1, maxAgeSeconds));
+  }
+
+  @Value("${app.diagnostics.jfr.max-size-bytes:67108864}")
+  void setMaxSizeBytes(long maxSizeBytes) {
+    this.maxSizeBytes = Math.max(1024 * 1024, maxSizeBytes);
+  }
+
+  @Value("${app.diagnostics.jfr.min-dump-interval-seconds:60}")
+  void setMinDumpIntervalSeconds(long minDumpIntervalSeconds) {
+    this.minDumpInterval = Duration.ofSeconds(Math.max(0, minDumpIntervalSeconds));
+  }
+
+  @Value("${app.diagnostics.jfr.max-recordings:10}")
+  void setMaxRecordings(int maxRecordings) {
+    this.maxRecordings = Math.max(1, maxRecordings);
+  }
+
+  @Value("${app.diagnostics.jfr.directory:}")
+  void setDirectory(String directory) {
+    if (directory != null && !directory.isBlank()) {
+      this.directory = Path.of(directory.trim());
+    }
+  }
+
+  void setDumpExecutor(Executor dumpExecutor) {
+    this.dumpExecutor = dumpExecutor;
+  }
+
+  @PostConstruct
+  public synchronized void start() {
+    if (!enabled || recording != null) {
+      return;
+    }
+    if (!FlightRecorder.isAvailable()) {
+      log.warn("Java Flight Recorder is not available; slow operation recordings are disabled");
+      return;
+    }
+
+    try {
+      Files.createDirectories(directory);
+      Recording continuous = new Recording(Configuration.getConfiguration("default"));
+      continuous.setName("tsc-incident-reviewer-continuous");
+      continuous.setToDisk(true);
+      continuous.setMaxAge(maxAge);
+      continuous.setMaxSize(maxSizeBytes);
+      continuous.enable(ParseStageEvent.class).withThreshold(Duration.ZERO);
+      continuous.enable(ExportEvent.class).withThreshold(Duration.ZERO);
+      continuous.start();
+      recording = continuous;
+    } catch (IOException | ParseException ex) {
+      log.warn("Failed to start the continuous flight recording", ex);
+      return;
+    }
+
+    if (dumpExecutor == null) {
+      ownedExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "jfr-dump");
+        thread.setDaemon(true);
+        return thread;
+      });
+      dumpExecutor = ownedExecutor;
+    }
+    log.info("Recording slow uploads and exports over {} ms to {}", threshold.toMillis(), directory);
+  }
+
+  @PreDestroy
+  public synchronized void stop() {
+    if (ownedExecutor != null) {
+      ownedExecutor.shutdown();
+      try {
+        ownedExecutor.awaitTermination(10, TimeUnit.SECONDS);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+      ownedExecutor = null;
+      dumpExecutor = null;
+    }
+    if (recording != null) {
+      recording.close();
+      recording = null;
+    }
+  }
+
+  public boolean isRecording() {
+    return recording != null;
+  }
+
+  /**
+   * Dumps the ring to a new file when {@code elapsedNanos} exceeds the threshold. Returns whether a
+   * dump was scheduled.
+   */
+  public boolean recordIfSlow(String operation, long elapsedNanos) {
+    Recording current = recording;
+    if (current == null || elapsedNanos < threshold.toNanos()) {
+      return false;
+    }
+
+    long now = System.nanoTime();
+    long last = lastDumpNanos.get();
+    if (last != 0 && now - last < minDumpInterval.toNanos()) {
+      return false;
+    }
+    if (!lastDumpNanos.compareAndSet(last, now)) {
+      return false;
+    }
+
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    String name = "slow-" + OPERATION_NAME.matcher(operation).replaceAll("-")
+        + "-" + System.currentTimeMillis() + "-" + elapsedMillis + "ms.jfr";
+    dumpExecutor.execute(() -> dump(current, directory.resolve(name), operation, elapsedMillis));
+    return true;
+  }
+
+  public List<DiagnosticRecording> list() {
+    List<DiagnosticRecording> recordings = new ArrayList<>();
+    for (Path path : recordingFiles()) {
+      try {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        recordings.add(new DiagnosticRecording(
+            path.getFileName().toString(),
+            attributes.size(),
+            attributes.lastModifiedTime().toInstant()
+        ));
+      } catch (IOException ex) {
+        log.debug("Skipping unreadable recording {}", path, ex);
+      }
+    }
+    recordings.sort(Comparator.comparing(DiagnosticRecording::createdAt).reversed());
+    return recordings;
+  }
+
+  /** Returns the recording file, or empty if there is none by that name. */
+  public Optional<Path> resolve(String name) {
+    if (name == null || !RECORDING_NAME.matcher(name).matches()) {
+      throw new IllegalArgumentException("invalid recording name: " + name);
+    }
+
+    Path path = directory.resolve(name);
+    return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+  }
+
+  private void dump(Recording source, Path target, String operation, long elapsedMillis) {
+    try {
+      source.dump(target);
+      log.warn("{} took {} ms; flight recording written to {}", operation, elapsedMillis, target);
+    } catch (IOException | IllegalStateException ex) {
+      log.warn("Failed to write flight recording for slow {}", operation, ex);
+      return;
+    }
+
+    List<Path> files = recordingFiles();
+    files.sort(Comparator.comparing(SlowOperationRecorder::lastModified).reversed());
+    for (Path stale : files.subList(Math.min(maxRecordings, files.size()), files.size())) {
+      try {
+        Files.deleteIfExists(stale);
+      } catch (IOException ex) {
+        log.debug("Failed to delete old recording {}", stale, ex);
+      }
+    }
+  }
+
+  private List<Path> recordingFiles() {
+    if (!Files.isDirectory(directory)) {
+      return new ArrayList<>();
+    }
+
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .filter(path -> RECORDING_NAME.matcher(path.getFileName().toString()).matches())
+          .filter(Files::isRegularFile)
+          .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+    } catch (IOException ex) {
+      throw new UncheckedIOException("failed to list flight recordings", ex);
+    }
+  }
+
+  private static long lastModified(Path path) {
+    try {
+      return Files.getLastModifiedTime(path).toMillis();
+    } catch (IOException ex) {
+      return 0;
+    }
+  }
+}
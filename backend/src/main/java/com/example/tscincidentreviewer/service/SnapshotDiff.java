@@ -0,0 +1,143 @@
+package com.example.tscincidentreviewer.service;
+
+import com.example.tscincidentreviewer.model.DiffSummary;
+import com.example.tscincidentreviewer.model.IncidentRow;
+import com.example.tscincidentreviewer.store.IncidentDataset;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hash join of two snapshots on {@code issueKey}: the older snapshot's keys go into a hash table,
+ * the newer snapshot is streamed against it, and unmatched older rows are reported last, so a
+ * diff is linear in the size of both snapshots. Repeated keys pair up in order of appearance;
+ * rows without a key can only match an identical row.
+ */
+public final class SnapshotDiff {
+
+  public interface Listener {
+
+    void added(IncidentRow after) throws IOException;
+
+    void removed(IncidentRow before) throws IOException;
+
+    void changed(IncidentRow before, IncidentRow after, List<String> changedFields) throws IOException;
+  }
+
+  private static final Listener IGNORE = new Listener() {
+    @Override
+    public void added(IncidentRow after) {
+    }
+
+    @Override
+    public void removed(IncidentRow before) {
+    }
+
+    @Override
+    public void changed(IncidentRow before, IncidentRow after, List<String> changedFields) {
+    }
+  };
+
+  private SnapshotDiff() {
+  }
+
+  public static DiffSummary summarize(IncidentDataset from, IncidentDataset to) {
+    try {
+      return diff(from, to, IGNORE);
+    } catch (IOException ex) {
+      throw new IllegalStateException("diff without output failed", ex);
+    }
+  }
+
+  public static DiffSummary diff(IncidentDataset from, IncidentDataset to, Listener listener) throws IOException {
+    List<IncidentRow> before = from.items();
+    Map<String, Integer> firstByKey = new HashMap<>(Math.max(16, before.size() * 4 / 3 + 1));
+    int[] nextWithKey = new int[before.size()];
+    int[] lastWithKey = new int[before.size()];
+    Arrays.fill(nextWithKey, -1);
+
+    int rowIndex = 0;
+    for (IncidentRow row : before) {
+      String key = joinKey(row);
+      Integer first = firstByKey.putIfAbsent(key, rowIndex);
+      if (first != null) {
+        nextWithKey[lastWithKey[first]] = rowIndex;
+        lastWithKey[first] = rowIndex;
+      } else {
+        lastWithKey[rowIndex] = rowIndex;
+      }
+      rowIndex++;
+    }
+
+    boolean[] matched = new boolean[before.size()];
+    int added = 0;
+    int changed = 0;
+    int unchanged = 0;
+
+    for (IncidentRow after : to.items()) {
+      String key = joinKey(after);
+      Integer first = firstByKey.get(key);
+      if (first == null) {
+        listener.added(after);
+        added++;
+        continue;
+      }
+
+      int candidate = first;
+      int next = nextWithKey[candidate];
+      if (next >= 0) {
+        firstByKey.put(key, next);
+        lastWithKey[next] = lastWithKey[candidate];
+      } else {
+        firstByKey.remove(key);
+      }
+      matched[candidate] = true;
+
+      IncidentRow previous = before.get(candidate);
+      List<String> changedFields = changedFields(previous, after);
+      if (changedFields.isEmpty()) {
+        unchanged++;
+      } else {
+        listener.changed(previous, after, changedFields);
+        changed++;
+      }
+    }
+
+    int removed = 0;
+    Iterator<IncidentRow> rows = before.iterator();
+    for (int i = 0; i < matched.length; i++) {
+      IncidentRow row = rows.next();
+      if (!matched[i]) {
+        listener.removed(row);
+        removed++;
+      }
+    }
+
+    return new DiffSummary(from.contentVersion(), to.contentVersion(), added, removed, changed, unchanged);
+  }
+
+  private static String joinKey(IncidentRow row) {
+    if (!row.issueKey().isEmpty()) {
+      return row.issueKey();
+    }
+    return "\u0000" + row.issueLinks() + "\u0000" + row.label() + "\u0000" + row.comment();
+  }
+
+  private static List<String> changedFields(IncidentRow before, IncidentRow after) {
+    List<String> fields = new ArrayList<>(3);
+    if (!before.issueLinks().equals(after.issueLinks())) {
+      fields.add("issueLinks");
+    }
+    if (!before.label().equals(after.label())) {
+      fields.add("label");
+    }
+    if (!before.comment().equals(after.comment())) {
+      fields.add("comment");
+    }
+    return fields;
+  }
+}
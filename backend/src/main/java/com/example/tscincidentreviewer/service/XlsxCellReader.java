@@ -0,0 +1,36 @@
+package com.example.tscincidentreviewer.service;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+
+/**
+ * Reads cell text the way {@link DataFormatter} would, but returns plain string and blank cells
+ * directly and only falls back to the formatter (format lookup, locale handling) for numeric,
+ * date, boolean, formula and error cells.
+ */
+final class XlsxCellReader {
+
+  private final DataFormatter formatter;
+
+  XlsxCellReader(DataFormatter formatter) {
+    this.formatter = formatter;
+  }
+
+  String read(Row row, int column) {
+    if (row == null) {
+      return "";
+    }
+
+    Cell cell = row.getCell(column);
+    if (cell == null) {
+      return "";
+    }
+
+    return switch (cell.getCellType()) {
+      case STRING -> cell.getStringCellValue();
+      case BLANK -> "";
+      default -> formatter.formatCellValue(cell);
+    };
+  }
+}
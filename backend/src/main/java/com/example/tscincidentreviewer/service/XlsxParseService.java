@@ -3,14 +3,18 @@ package com.example.tscincidentreviewer.service;
 import com.example.tscincidentreviewer.dto.UploadResponse;
 import com.example.tscincidentreviewer.exception.InvalidXlsxException;
 import com.example.tscincidentreviewer.exception.MissingHeadersException;
+import com.example.tscincidentreviewer.exception.UploadLimitExceededException;
 import com.example.tscincidentreviewer.model.IncidentRow;
 import com.example.tscincidentreviewer.model.StatRow;
 import com.example.tscincidentreviewer.model.Stats;
+import com.example.tscincidentreviewer.store.IncidentRowBuffer;
+import com.example.tscincidentreviewer.store.StringDictionary;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -18,7 +22,6 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.StringJoiner;
-import java.util.function.Function;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
@@ -26,18 +29,26 @@ import org.apache.poi.ss.usermodel.DataFormatter;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 
 @Service
 public class XlsxParseService {
 
+  private static final Logger log = LoggerFactory.getLogger(XlsxParseService.class);
+
   enum SourceFormat {
     PREPROCESSED,
     RAW_JIRA
   }
 
-  private record TabularData(List<String> headers, List<Map<String, String>> rows) {
+  @FunctionalInterface
+  private interface RowCells {
+    String read(int column);
   }
 
   private static final String PROCESSED_ISSUE_KEY = "Issue Key";
@@ -52,8 +63,14 @@ public class XlsxParseService {
 
   private static final String EMPTY_BUCKET = "(empty)";
   private static final int DEFAULT_MAX_PARSED_ROWS = 50_000;
+  private static final int DEFAULT_SPILL_THRESHOLD_ROWS = 10_000;
+  private static final long DEFAULT_MAX_SPILL_BYTES = 1024L * 1024 * 1024;
 
   private int maxParsedRows = DEFAULT_MAX_PARSED_ROWS;
+  private boolean spillEnabled;
+  private int spillThresholdRows = DEFAULT_SPILL_THRESHOLD_ROWS;
+  private long maxSpillBytes = DEFAULT_MAX_SPILL_BYTES;
+  private KeywordTagger keywordTagger = KeywordTagger.empty();
 
   XlsxParseService(int maxParsedRows) {
     this.maxParsedRows = validateMaxRows(maxParsedRows);
@@ -67,29 +84,69 @@ public class XlsxParseService {
     this.maxParsedRows = validateMaxRows(maxParsedRows);
   }
 
+  @Value("${app.upload.spill.enabled:false}")
+  void setSpillEnabled(boolean spillEnabled) {
+    this.spillEnabled = spillEnabled;
+  }
+
+  @Value("${app.upload.spill.threshold-rows:10000}")
+  void setSpillThresholdRows(int spillThresholdRows) {
+    this.spillThresholdRows = spillThresholdRows < 0 ? DEFAULT_SPILL_THRESHOLD_ROWS : spillThresholdRows;
+  }
+
+  @Value("${app.upload.spill.max-bytes:1073741824}")
+  void setMaxSpillBytes(long maxSpillBytes) {
+    this.maxSpillBytes = maxSpillBytes <= 0 ? DEFAULT_MAX_SPILL_BYTES : maxSpillBytes;
+  }
+
+  @Value("${app.tagging.dictionary:}")
+  void setTaggingDictionary(String location) {
+    if (location == null || location.isBlank()) {
+      return;
+    }
+
+    Resource resource = new DefaultResourceLoader().getResource(location.strip());
+    try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+      setKeywordTagger(KeywordTagger.parse(reader));
+    } catch (IOException ex) {
+      throw new UncheckedIOException("failed to read tagging dictionary " + location, ex);
+    }
+    log.info("Loaded {} tagging keywords for {} tags", keywordTagger.keywordCount(), keywordTagger.tags().size());
+  }
+
+  void setKeywordTagger(KeywordTagger keywordTagger) {
+    this.keywordTagger = keywordTagger == null ? KeywordTagger.empty() : keywordTagger;
+  }
+
   public UploadResponse parse(InputStream inputStream) {
     byte[] fileBytes;
+    ParseStageEvent readStage = ParseStageEvent.begin("read", "");
     try {
       fileBytes = inputStream.readAllBytes();
     } catch (IOException ex) {
       throw new InvalidXlsxException(ex);
     }
+    readStage.finish(0, fileBytes.length);
 
     if (fileBytes.length == 0) {
       throw new InvalidXlsxException(null);
     }
 
     try {
-      return normalizeRows(parseXlsxTable(fileBytes));
+      return parseXlsxTable(fileBytes);
     } catch (MissingHeadersException ex) {
       throw ex;
     } catch (InvalidXlsxException ex) {
       throw ex;
+    } catch (UploadLimitExceededException ex) {
+      throw ex;
     } catch (Exception xlsxError) {
       try {
-        return normalizeRows(parseCsvTable(fileBytes));
+        return parseCsvTable(fileBytes);
       } catch (MissingHeadersException ex) {
         throw ex;
+      } catch (UploadLimitExceededException ex) {
+        throw ex;
       } catch (Exception csvError) {
         throw new InvalidXlsxException(csvError);
       }
@@ -175,86 +232,69 @@ public class XlsxParseService {
     return joiner.toString();
   }
 
-  private UploadResponse normalizeRows(TabularData table) {
-    SourceFormat format = detectSourceFormat(table.headers());
+  private RowNormalizer newRowNormalizer(List<String> headers) {
+    SourceFormat format = detectSourceFormat(headers);
 
     List<String> requiredHeaders = switch (format) {
       case RAW_JIRA -> List.of(RAW_ISSUE_KEY, RAW_ISSUE_LINKS, RAW_LABEL, RAW_COMMENT);
       case PREPROCESSED -> List.of(PROCESSED_ISSUE_KEY, PROCESSED_ISSUE_LINKS, PROCESSED_LABEL, PROCESSED_COMMENT);
     };
 
-    Map<String, String> resolvedHeaders = resolveRequiredHeaders(table.headers(), requiredHeaders);
+    Map<String, Integer> resolvedColumns = resolveRequiredHeaders(headers, requiredHeaders);
 
-    String issueKeyColumn = switch (format) {
-      case RAW_JIRA -> resolvedHeaders.get(RAW_ISSUE_KEY);
-      case PREPROCESSED -> resolvedHeaders.get(PROCESSED_ISSUE_KEY);
+    int issueKeyColumn = switch (format) {
+      case RAW_JIRA -> resolvedColumns.get(RAW_ISSUE_KEY);
+      case PREPROCESSED -> resolvedColumns.get(PROCESSED_ISSUE_KEY);
     };
 
-    String issueLinksColumn = switch (format) {
-      case RAW_JIRA -> resolvedHeaders.get(RAW_ISSUE_LINKS);
-      case PREPROCESSED -> resolvedHeaders.get(PROCESSED_ISSUE_LINKS);
+    int issueLinksColumn = switch (format) {
+      case RAW_JIRA -> resolvedColumns.get(RAW_ISSUE_LINKS);
+      case PREPROCESSED -> resolvedColumns.get(PROCESSED_ISSUE_LINKS);
     };
 
-    String labelColumn = switch (format) {
-      case RAW_JIRA -> resolvedHeaders.get(RAW_LABEL);
-      case PREPROCESSED -> resolvedHeaders.get(PROCESSED_LABEL);
+    int labelColumn = switch (format) {
+      case RAW_JIRA -> resolvedColumns.get(RAW_LABEL);
+      case PREPROCESSED -> resolvedColumns.get(PROCESSED_LABEL);
     };
 
-    String commentColumn = switch (format) {
-      case RAW_JIRA -> resolvedHeaders.get(RAW_COMMENT);
-      case PREPROCESSED -> resolvedHeaders.get(PROCESSED_COMMENT);
+    int commentColumn = switch (format) {
+      case RAW_JIRA -> resolvedColumns.get(RAW_COMMENT);
+      case PREPROCESSED -> resolvedColumns.get(PROCESSED_COMMENT);
     };
 
-    List<IncidentRow> items = new ArrayList<>();
-
-    for (Map<String, String> row : table.rows()) {
-      String issueKey = normalizeField(readCell(row, issueKeyColumn));
-      String issueLinks = normalizeField(readCell(row, issueLinksColumn));
-      String label = normalizeField(readCell(row, labelColumn));
-      String comment = normalizeField(readCell(row, commentColumn));
-
-      issueKey = normalizeIssueKey(issueKey);
-
-      if (format == SourceFormat.RAW_JIRA) {
-        issueLinks = normalizeRawIssueLinks(issueLinks);
-        label = normalizeRawLabels(label);
-        comment = cleanJiraComment(comment);
-      }
-
-      if (issueKey.isEmpty() && issueLinks.isEmpty() && label.isEmpty() && comment.isEmpty()) {
-        continue;
-      }
-
-      items.add(new IncidentRow(issueKey, issueLinks, label, comment));
-    }
-
-    Stats stats = new Stats(
-        buildStats(items, IncidentRow::issueLinks),
-        buildStats(items, IncidentRow::label)
+    IncidentRowBuffer buffer = spillEnabled
+        ? IncidentRowBuffer.spilling(spillThresholdRows, maxSpillBytes)
+        : IncidentRowBuffer.inMemory();
+
+    return new RowNormalizer(
+        format,
+        issueKeyColumn,
+        issueLinksColumn,
+        labelColumn,
+        commentColumn,
+        buffer,
+        keywordTagger
     );
-
-    return new UploadResponse(items, stats, format.name());
   }
 
-  private Map<String, String> resolveRequiredHeaders(List<String> headers, List<String> requiredHeaders) {
-    Map<String, String> normalizedToHeader = new HashMap<>();
-    for (String header : headers) {
-      String cleanedHeader = stripBom(header).trim();
-      String normalized = normalize(cleanedHeader);
+  private Map<String, Integer> resolveRequiredHeaders(List<String> headers, List<String> requiredHeaders) {
+    Map<String, Integer> normalizedToColumn = new HashMap<>();
+    for (int column = 0; column < headers.size(); column++) {
+      String normalized = normalize(headers.get(column));
       if (!normalized.isEmpty()) {
-        normalizedToHeader.putIfAbsent(normalized, cleanedHeader);
+        normalizedToColumn.putIfAbsent(normalized, column);
       }
     }
 
     List<String> missing = new ArrayList<>();
-    Map<String, String> resolved = new HashMap<>();
+    Map<String, Integer> resolved = new HashMap<>();
 
     for (String required : requiredHeaders) {
-      String resolvedHeader = normalizedToHeader.get(normalize(required));
-      if (resolvedHeader == null) {
+      Integer resolvedColumn = normalizedToColumn.get(normalize(required));
+      if (resolvedColumn == null) {
         missing.add(required);
       } else {
-        resolved.put(required, resolvedHeader);
+        resolved.put(required, resolvedColumn);
       }
     }
 
@@ -265,19 +305,11 @@ public class XlsxParseService {
     return resolved;
   }
 
-  private List<StatRow> buildStats(List<IncidentRow> items, Function<IncidentRow, String> extractor) {
-    if (items.isEmpty()) {
+  private List<StatRow> buildStats(Map<String, Long> counts, int totalItems) {
+    if (totalItems == 0) {
       return List.of();
     }
 
-    Map<String, Long> counts = new HashMap<>();
-    for (IncidentRow item : items) {
-      String value = extractor.apply(item);
-      String name = value == null || value.isBlank() ? EMPTY_BUCKET : value;
-      counts.put(name, counts.getOrDefault(name, 0L) + 1L);
-    }
-
-    double totalItems = items.size();
     return counts.entrySet().stream()
         .sorted((left, right) -> {
           int compareCount = Long.compare(right.getValue(), left.getValue());
@@ -289,12 +321,13 @@ public class XlsxParseService {
         .map(entry -> new StatRow(
             entry.getKey(),
             entry.getValue(),
-            roundToOneDecimal((entry.getValue() / totalItems) * 100.0)
+            roundToOneDecimal((entry.getValue() / (double) totalItems) * 100.0)
         ))
         .toList();
   }
 
-  private TabularData parseXlsxTable(byte[] fileBytes) throws IOException {
+  private UploadResponse parseXlsxTable(byte[] fileBytes) throws IOException {
+    ParseStageEvent openStage = ParseStageEvent.begin("open", "xlsx");
     try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(fileBytes))) {
       if (workbook.getNumberOfSheets() == 0) {
         throw new InvalidXlsxException(null);
@@ -305,7 +338,7 @@ public class XlsxParseService {
 
       Row headerRow = sheet.getRow(sheet.getFirstRowNum());
       if (headerRow == null || headerRow.getLastCellNum() < 0) {
-        return new TabularData(List.of(), List.of());
+        throw new MissingHeadersException(List.of(RAW_ISSUE_KEY, PROCESSED_ISSUE_KEY));
       }
 
       List<String> headers = new ArrayList<>();
@@ -313,28 +346,30 @@ public class XlsxParseService {
         headers.add(sanitizeHeader(formatter.formatCellValue(headerRow.getCell(col))));
       }
 
-      List<Map<String, String>> rows = new ArrayList<>();
-      int parsedRowCount = 0;
-      for (int rowNum = headerRow.getRowNum() + 1; rowNum <= sheet.getLastRowNum(); rowNum++) {
-        parsedRowCount++;
-        ensureWithinRowLimit(parsedRowCount);
-
-        Row row = sheet.getRow(rowNum);
-        Map<String, String> mappedRow = new HashMap<>();
-
-        for (int col = 0; col < headers.size(); col++) {
-          String value = row == null ? "" : formatter.formatCellValue(row.getCell(col));
-          mappedRow.put(headers.get(col), value);
+      RowNormalizer normalizer = newRowNormalizer(headers);
+      XlsxCellReader cellReader = new XlsxCellReader(formatter);
+      openStage.finish(0, fileBytes.length);
+      try {
+        ParseStageEvent rowsStage = ParseStageEvent.begin("rows", "xlsx");
+        for (int rowNum = headerRow.getRowNum() + 1; rowNum <= sheet.getLastRowNum(); rowNum++) {
+          Row row = sheet.getRow(rowNum);
+          normalizer.accept(col -> cellReader.read(row, col));
         }
-
-        rows.add(mappedRow);
+        rowsStage.finish(normalizer.parsedRowCount, 0);
+
+        ParseStageEvent finishStage = ParseStageEvent.begin("finish", "xlsx");
+        UploadResponse response = normalizer.finish();
+        finishStage.finish(response.items().size(), 0);
+        return response;
+      } catch (RuntimeException | IOException ex) {
+        normalizer.discard();
+        throw ex;
       }
-
-      return new TabularData(headers, rows);
     }
   }
 
-  private TabularData parseCsvTable(byte[] fileBytes) throws IOException {
+  private UploadResponse parseCsvTable(byte[] fileBytes) throws IOException {
+    ParseStageEvent openStage = ParseStageEvent.begin("open", "csv");
     try (Reader reader = new InputStreamReader(new ByteArrayInputStream(fileBytes), StandardCharsets.UTF_8);
          CSVParser parser = CSVFormat.DEFAULT.builder()
              .setHeader()
@@ -343,7 +378,7 @@ public class XlsxParseService {
              .parse(reader)) {
 
       if (parser.getHeaderMap() == null || parser.getHeaderMap().isEmpty()) {
-        return new TabularData(List.of(), List.of());
+        throw new MissingHeadersException(List.of(RAW_ISSUE_KEY, PROCESSED_ISSUE_KEY));
       }
 
       List<Map.Entry<String, Integer>> headerEntries = parser.getHeaderMap().entrySet().stream()
@@ -354,31 +389,32 @@ public class XlsxParseService {
           .map(entry -> sanitizeHeader(entry.getKey()))
           .toList();
 
-      List<Map<String, String>> rows = new ArrayList<>();
-      int parsedRowCount = 0;
-      for (CSVRecord record : parser) {
-        parsedRowCount++;
-        ensureWithinRowLimit(parsedRowCount);
-
-        Map<String, String> mappedRow = new HashMap<>();
-        for (Map.Entry<String, Integer> headerEntry : headerEntries) {
-          String originalHeader = headerEntry.getKey();
-          String sanitizedHeader = sanitizeHeader(originalHeader);
-          mappedRow.put(sanitizedHeader, readCsvCell(record, originalHeader));
+      RowNormalizer normalizer = newRowNormalizer(headers);
+      openStage.finish(0, fileBytes.length);
+      try {
+        ParseStageEvent rowsStage = ParseStageEvent.begin("rows", "csv");
+        for (CSVRecord record : parser) {
+          normalizer.accept(col -> readCsvCell(record, headerEntries.get(col).getValue()));
         }
-        rows.add(mappedRow);
+        rowsStage.finish(normalizer.parsedRowCount, 0);
+
+        ParseStageEvent finishStage = ParseStageEvent.begin("finish", "csv");
+        UploadResponse response = normalizer.finish();
+        finishStage.finish(response.items().size(), 0);
+        return response;
+      } catch (RuntimeException | IOException ex) {
+        normalizer.discard();
+        throw ex;
       }
-
-      return new TabularData(headers, rows);
     }
   }
 
-  private String readCsvCell(CSVRecord record, String header) {
-    if (!record.isMapped(header) || !record.isSet(header)) {
+  private String readCsvCell(CSVRecord record, int index) {
+    if (index >= record.size()) {
       return "";
     }
 
-    String value = record.get(header);
+    String value = record.get(index);
     return value == null ? "" : value;
   }
 
@@ -396,18 +432,9 @@ public class XlsxParseService {
     return trimmed;
   }
 
-  private String readCell(Map<String, String> row, String header) {
-    if (row == null || header == null) {
-      return "";
-    }
-
-    String value = row.get(header);
-    return value == null ? "" : value;
-  }
-
   private void ensureWithinRowLimit(int parsedRowCount) {
     if (parsedRowCount > maxParsedRows) {
-      throw new IllegalArgumentException("file has too many rows");
+      throw new UploadLimitExceededException("file has too many rows");
     }
   }
 
@@ -447,4 +474,98 @@ public class XlsxParseService {
     }
     return maxParsedRows;
   }
+
+  private final class RowNormalizer {
+
+    private final SourceFormat format;
+    private final int issueKeyColumn;
+    private final int issueLinksColumn;
+    private final int labelColumn;
+    private final int commentColumn;
+    private final IncidentRowBuffer buffer;
+    private final KeywordTagger tagger;
+
+    private final StringDictionary issueLinksDictionary = new StringDictionary();
+    private final StringDictionary labelDictionary = new StringDictionary();
+    private final Map<String, Long> issueLinksCounts = new HashMap<>();
+    private final Map<String, Long> labelCounts = new HashMap<>();
+    private final Map<String, Long> tagCounts = new HashMap<>();
+    private int parsedRowCount;
+
+    private RowNormalizer(
+        SourceFormat format,
+        int issueKeyColumn,
+        int issueLinksColumn,
+        int labelColumn,
+        int commentColumn,
+        IncidentRowBuffer buffer,
+        KeywordTagger tagger
+    ) {
+      this.format = format;
+      this.issueKeyColumn = issueKeyColumn;
+      this.issueLinksColumn = issueLinksColumn;
+      this.labelColumn = labelColumn;
+      this.commentColumn = commentColumn;
+      this.buffer = buffer;
+      this.tagger = tagger;
+    }
+
+    void accept(RowCells cells) throws IOException {
+      parsedRowCount++;
+      if (!spillEnabled) {
+        ensureWithinRowLimit(parsedRowCount);
+      }
+
+      String issueKey = normalizeField(cells.read(issueKeyColumn));
+      String issueLinks = normalizeField(cells.read(issueLinksColumn));
+      String label = normalizeField(cells.read(labelColumn));
+      String comment = normalizeField(cells.read(commentColumn));
+
+      issueKey = normalizeIssueKey(issueKey);
+
+      if (format == SourceFormat.RAW_JIRA) {
+        issueLinks = normalizeRawIssueLinks(issueLinks);
+        label = normalizeRawLabels(label);
+        comment = cleanJiraComment(comment);
+      }
+
+      if (issueKey.isEmpty() && issueLinks.isEmpty() && label.isEmpty() && comment.isEmpty()) {
+        return;
+      }
+
+      issueLinks = issueLinksDictionary.intern(issueLinks);
+      label = labelDictionary.intern(label);
+      countBucket(issueLinksCounts, issueLinks);
+      countBucket(labelCounts, label);
+
+      List<String> tags = tagger.tag(comment);
+      for (String tag : tags) {
+        tagCounts.merge(tag, 1L, Long::sum);
+      }
+
+      buffer.append(new IncidentRow(issueKey, issueLinks, label, comment, tags));
+    }
+
+    UploadResponse finish() throws IOException {
+      int totalItems = buffer.size();
+      List<IncidentRow> items = buffer.finish();
+
+      Stats stats = new Stats(
+          buildStats(issueLinksCounts, totalItems),
+          buildStats(labelCounts, totalItems),
+          buildStats(tagCounts, totalItems)
+      );
+
+      return new UploadResponse(items, stats, format.name());
+    }
+
+    void discard() {
+      buffer.discard();
+    }
+
+    private void countBucket(Map<String, Long> counts, String value) {
+      String name = value.isBlank() ? EMPTY_BUCKET : value;
+      counts.merge(name, 1L, Long::sum);
+    }
+  }
 }
@@ -0,0 +1,274 @@
+package com.example.tscincidentreviewer.store;
+
+import com.example.tscincidentreviewer.model.IncidentRow;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Read-only list of rows whose comments are kept as Deflate blocks of {@code blockRows}
+ * consecutive rows. Issue keys and tags stay as they are, issue links and labels are read from the
+ * dataset dictionaries. A block is inflated on first access; the most recently used blocks are
+ * kept decoded so paging through the table does not inflate the same block for every row.
+ * Iteration inflates each block once and reuses a block that is already decoded, but neither
+ * adds to the cache nor changes its recency order.
+ */
+public final class CompressedIncidentList extends AbstractList<IncidentRow> {
+
+  private final String[] issueKeys;
+  private final List<List<String>> tags;
+  private final StringDictionary issueLinks;
+  private final int[] issueLinkCodes;
+  private final StringDictionary labels;
+  private final int[] labelCodes;
+  private final int blockRows;
+  private final byte[][] blocks;
+  private final int[] blockRawBytes;
+  private final Map<Integer, String[]> decodedBlocks;
+  // Same entries as decodedBlocks, for lookups that must not count as a use
+  private final Map<Integer, String[]> decodedBlocksByIndex = new HashMap<>();
+
+  private CompressedIncidentList(
+      Builder builder,
+      StringDictionary issueLinks,
+      int[] issueLinkCodes,
+      StringDictionary labels,
+      int[] labelCodes,
+      int cachedBlocks
+  ) {
+    this.issueKeys = Arrays.copyOf(builder.issueKeys, builder.size);
+    this.tags = builder.tags;
+    this.issueLinks = issueLinks;
+    this.issueLinkCodes = issueLinkCodes;
+    this.labels = labels;
+    this.labelCodes = labelCodes;
+    this.blockRows = builder.blockRows;
+    this.blocks = builder.blocks.toArray(new byte[0][]);
+    this.blockRawBytes = builder.blockRawBytes.stream().mapToInt(Integer::intValue).toArray();
+    this.decodedBlocks = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, String[]> eldest) {
+        if (size() <= cachedBlocks) {
+          return false;
+        }
+        decodedBlocksByIndex.remove(eldest.getKey());
+        return true;
+      }
+    };
+  }
+
+  @Override
+  public IncidentRow get(int index) {
+    if (index < 0 || index >= size()) {
+      throw new IndexOutOfBoundsException(index);
+    }
+
+    int block = index / blockRows;
+    String[] comments;
+    synchronized (decodedBlocks) {
+      comments = decodedBlocks.get(block);
+    }
+    if (comments == null) {
+      comments = inflate(block);
+      synchronized (decodedBlocks) {
+        decodedBlocksByIndex.put(block, comments);
+        decodedBlocks.put(block, comments);
+      }
+    }
+    return row(index, comments[index - block * blockRows]);
+  }
+
+  @Override
+  public int size() {
+    return issueKeys.length;
+  }
+
+  @Override
+  public Iterator<IncidentRow> iterator() {
+    return new BlockIterator();
+  }
+
+  public long compressedBytes() {
+    long bytes = HeapEstimates.arrayBytes(blocks.length, 4) + HeapEstimates.arrayBytes(blockRawBytes.length, 4);
+    for (byte[] block : blocks) {
+      bytes += HeapEstimates.arrayBytes(block.length, 1);
+    }
+    return bytes;
+  }
+
+  long retainedBytes() {
+    long bytes = compressedBytes()
+        + HeapEstimates.arrayBytes(issueKeys.length, 4)
+        + HeapEstimates.arrayBytes(tags.size(), 4);
+    for (int i = 0; i < issueKeys.length; i++) {
+      bytes += HeapEstimates.stringBytes(issueKeys[i]) + HeapEstimates.listBytes(tags.get(i).size());
+    }
+    return bytes;
+  }
+
+  /** Decoded block indexes, least recently used first. */
+  List<Integer> cachedBlockIndexes() {
+    synchronized (decodedBlocks) {
+      return List.copyOf(decodedBlocks.keySet());
+    }
+  }
+
+  private IncidentRow row(int index, String comment) {
+    return new IncidentRow(
+        issueKeys[index],
+        issueLinks.valueOf(issueLinkCodes[index]),
+        labels.valueOf(labelCodes[index]),
+        comment,
+        tags.get(index)
+    );
+  }
+
+  private String[] inflate(int block) {
+    byte[] raw = new byte[blockRawBytes[block]];
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(blocks[block]);
+      int inflated = 0;
+      while (inflated < raw.length && !inflater.finished()) {
+        inflated += inflater.inflate(raw, inflated, raw.length - inflated);
+      }
+    } catch (DataFormatException ex) {
+      throw new IllegalStateException("compressed comment block " + block + " is corrupt", ex);
+    } finally {
+      inflater.end();
+    }
+
+    int first = block * blockRows;
+    String[] comments = new String[Math.min(blockRows, size() - first)];
+    int position = 0;
+    for (int i = 0; i < comments.length; i++) {
+      int length = 0;
+      int shift = 0;
+      byte next;
+      do {
+        next = raw[position++];
+        length |= (next & 0x7F) << shift;
+        shift += 7;
+      } while ((next & 0x80) != 0);
+
+      comments[i] = length == 0 ? "" : new String(raw, position, length, StandardCharsets.UTF_8);
+      position += length;
+    }
+    return comments;
+  }
+
+  static final class Builder {
+
+    private final int blockRows;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private final byte[] chunk = new byte[8 * 1024];
+    private final List<byte[]> blocks = new ArrayList<>();
+    private final List<Integer> blockRawBytes = new ArrayList<>();
+    private final List<List<String>> tags;
+    private String[] issueKeys;
+    private int size;
+
+    Builder(int blockRows, int expectedSize) {
+      this.blockRows = blockRows;
+      this.issueKeys = new String[Math.max(expectedSize, 16)];
+      this.tags = new ArrayList<>(expectedSize);
+    }
+
+    void add(IncidentRow row) {
+      if (size == issueKeys.length) {
+        issueKeys = Arrays.copyOf(issueKeys, size * 2);
+      }
+      issueKeys[size++] = row.issueKey();
+      tags.add(row.tags());
+
+      byte[] comment = (row.comment() == null ? "" : row.comment()).getBytes(StandardCharsets.UTF_8);
+      int length = comment.length;
+      while ((length & ~0x7F) != 0) {
+        pending.write((length & 0x7F) | 0x80);
+        length >>>= 7;
+      }
+      pending.write(length);
+      pending.write(comment, 0, comment.length);
+
+      if (size % blockRows == 0) {
+        flushBlock();
+      }
+    }
+
+    CompressedIncidentList build(
+        StringDictionary issueLinks,
+        int[] issueLinkCodes,
+        StringDictionary labels,
+        int[] labelCodes,
+        int cachedBlocks
+    ) {
+      if (size % blockRows != 0) {
+        flushBlock();
+      }
+      deflater.end();
+      return new CompressedIncidentList(this, issueLinks, issueLinkCodes, labels, labelCodes, cachedBlocks);
+    }
+
+    private void flushBlock() {
+      byte[] raw = pending.toByteArray();
+      pending.reset();
+
+      ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, raw.length / 3));
+      deflater.reset();
+      deflater.setInput(raw);
+      deflater.finish();
+      while (!deflater.finished()) {
+        int written = deflater.deflate(chunk);
+        compressed.write(chunk, 0, written);
+      }
+
+      blocks.add(compressed.toByteArray());
+      blockRawBytes.add(raw.length);
+    }
+  }
+
+  private final class BlockIterator implements Iterator<IncidentRow> {
+
+    private String[] comments;
+    private int commentsBlock = -1;
+    private int next;
+
+    @Override
+    public boolean hasNext() {
+      return next < size();
+    }
+
+    @Override
+    public IncidentRow next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+
+      int block = next / blockRows;
+      if (block != commentsBlock) {
+        synchronized (decodedBlocks) {
+          comments = decodedBlocksByIndex.get(block);
+        }
+        if (comments == null) {
+          comments = inflate(block);
+        }
+        commentsBlock = block;
+      }
+
+      int index = next++;
+      return row(index, comments[index - block * blockRows]);
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package com.example.tscincidentreviewer.store;
+
+final class HeapEstimates {
+
+  private static final int OBJECT_HEADER_BYTES = 12;
+  private static final int ARRAY_HEADER_BYTES = 16;
+  private static final int REFERENCE_BYTES = 4;
+  private static final int STRING_FIELDS_BYTES = 4 + 1 + 1 + REFERENCE_BYTES;
+
+  private HeapEstimates() {
+  }
+
+  static long stringBytes(String value) {
+    if (value == null) {
+      return 0;
+    }
+
+    long payload = isLatin1(value) ? value.length() : value.length() * 2L;
+    return align(OBJECT_HEADER_BYTES + STRING_FIELDS_BYTES) + align(ARRAY_HEADER_BYTES + payload);
+  }
+
+  static long rowBytes(int fieldCount) {
+    return align(OBJECT_HEADER_BYTES + (long) fieldCount * REFERENCE_BYTES);
+  }
+
+  static long listBytes(int size) {
+    return size == 0 ? 0 : align(OBJECT_HEADER_BYTES + REFERENCE_BYTES) + arrayBytes(size, REFERENCE_BYTES);
+  }
+
+  static long arrayBytes(long length, int elementBytes) {
+    return align(ARRAY_HEADER_BYTES + length * elementBytes);
+  }
+
+  private static boolean isLatin1(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      if (value.charAt(i) > 0xFF) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static long align(long bytes) {
+    return (bytes + 7) & ~7L;
+  }
+}
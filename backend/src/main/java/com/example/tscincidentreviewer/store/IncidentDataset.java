@@ -0,0 +1,310 @@
+package com.example.tscincidentreviewer.store;
+
+import com.example.tscincidentreviewer.index.CoOccurrenceMatrix;
+import com.example.tscincidentreviewer.index.IssueLinkGraph;
+import com.example.tscincidentreviewer.index.NearDuplicateIndex;
+import com.example.tscincidentreviewer.model.CrossTab;
+import com.example.tscincidentreviewer.model.CrossTabCell;
+import com.example.tscincidentreviewer.model.HeapUsage;
+import com.example.tscincidentreviewer.model.IncidentRow;
+import com.example.tscincidentreviewer.model.StatRow;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+
+public final class IncidentDataset {
+
+  private static final int ROW_FIELD_COUNT = 5;
+  private static final String EMPTY_BUCKET = "(empty)";
+
+  private final long version;
+  private final String contentVersion;
+  private final List<IncidentRow> items;
+  private final StringDictionary issueLinks;
+  private final StringDictionary labels;
+  private final int[] issueLinkCodes;
+  private final int[] labelCodes;
+  private final HeapUsage heapUsage;
+  private final IssueLinkGraph issueLinkGraph;
+  // Built on the first duplicates request: about 384 bytes per row, far more than a spilled
+  // dataset otherwise keeps on heap
+  private volatile NearDuplicateIndex nearDuplicateIndex;
+  private final CoOccurrenceMatrix labelIssueLinkMatrix;
+  // The store's own reference plus one per lease; the spill file is closed when it drops to zero
+  private final AtomicInteger references = new AtomicInteger(1);
+
+  private IncidentDataset(
+      long version,
+      String contentVersion,
+      List<IncidentRow> items,
+      StringDictionary issueLinks,
+      StringDictionary labels,
+      int[] issueLinkCodes,
+      int[] labelCodes,
+      long plainBytes,
+      long commentBytes
+  ) {
+    this.version = version;
+    this.contentVersion = contentVersion;
+    this.items = items;
+    this.issueLinks = issueLinks;
+    this.labels = labels;
+    this.issueLinkCodes = issueLinkCodes;
+    this.labelCodes = labelCodes;
+    this.heapUsage = estimateHeapUsage(plainBytes, commentBytes);
+    this.issueLinkGraph = IssueLinkGraph.build(items);
+    this.labelIssueLinkMatrix = CoOccurrenceMatrix.build(labelCodes, labels.size(), issueLinkCodes, issueLinks.size());
+  }
+
+  static IncidentDataset of(List<IncidentRow> source, long version, String contentVersion) {
+    return of(source, version, contentVersion, 0, 0);
+  }
+
+  /**
+   * With a positive {@code compressionBlockRows}, comments of heap-resident rows are kept in
+   * Deflate blocks of that many rows, {@code cachedBlocks} of which stay decoded.
+   */
+  static IncidentDataset of(
+      List<IncidentRow> source,
+      long version,
+      String contentVersion,
+      int compressionBlockRows,
+      int cachedBlocks
+  ) {
+    StringDictionary issueLinks = new StringDictionary();
+    StringDictionary labels = new StringDictionary();
+    int[] issueLinkCodes = new int[source.size()];
+    int[] labelCodes = new int[source.size()];
+    boolean spilled = source instanceof SpilledIncidentList;
+    CompressedIncidentList.Builder compressed = !spilled && compressionBlockRows > 0
+        ? new CompressedIncidentList.Builder(compressionBlockRows, source.size())
+        : null;
+    List<IncidentRow> items = spilled || compressed != null ? List.of() : new ArrayList<>(source.size());
+    long plainBytes = HeapEstimates.arrayBytes(source.size(), 4);
+    long commentBytes = 0;
+
+    int index = 0;
+    for (IncidentRow row : source) {
+      issueLinkCodes[index] = issueLinks.codeOf(row.issueLinks());
+      labelCodes[index] = labels.codeOf(row.label());
+
+      if (compressed != null) {
+        compressed.add(row);
+      } else if (!spilled) {
+        String issueLinksValue = issueLinks.valueOf(issueLinkCodes[index]);
+        String labelValue = labels.valueOf(labelCodes[index]);
+        if (issueLinksValue != row.issueLinks() || labelValue != row.label()) {
+          row = new IncidentRow(row.issueKey(), issueLinksValue, labelValue, row.comment(), row.tags());
+        }
+        items.add(row);
+      }
+
+      index++;
+      commentBytes += HeapEstimates.stringBytes(row.comment());
+      plainBytes += HeapEstimates.rowBytes(ROW_FIELD_COUNT)
+          + HeapEstimates.stringBytes(row.issueKey())
+          + HeapEstimates.stringBytes(row.issueLinks())
+          + HeapEstimates.stringBytes(row.label())
+          + HeapEstimates.stringBytes(row.comment())
+          + HeapEstimates.listBytes(row.tags().size());
+      for (String tag : row.tags()) {
+        plainBytes += HeapEstimates.stringBytes(tag);
+      }
+    }
+
+    List<IncidentRow> datasetItems;
+    if (spilled) {
+      datasetItems = source;
+    } else if (compressed != null) {
+      datasetItems = compressed.build(issueLinks, issueLinkCodes, labels, labelCodes, cachedBlocks);
+    } else {
+      datasetItems = Collections.unmodifiableList(items);
+    }
+
+    return new IncidentDataset(
+        version,
+        contentVersion,
+        datasetItems,
+        issueLinks,
+        labels,
+        issueLinkCodes,
+        labelCodes,
+        plainBytes,
+        commentBytes
+    );
+  }
+
+  public long version() {
+    return version;
+  }
+
+  public String contentVersion() {
+    return contentVersion;
+  }
+
+  public List<IncidentRow> items() {
+    return items;
+  }
+
+  public int size() {
+    return items.size();
+  }
+
+  public StringDictionary issueLinks() {
+    return issueLinks;
+  }
+
+  public StringDictionary labels() {
+    return labels;
+  }
+
+  public int issueLinkCode(int rowIndex) {
+    return issueLinkCodes[rowIndex];
+  }
+
+  public int labelCode(int rowIndex) {
+    return labelCodes[rowIndex];
+  }
+
+  /** Heap estimate, including the near-duplicate index once it has been built. */
+  public HeapUsage heapUsage() {
+    NearDuplicateIndex index = nearDuplicateIndex;
+    if (index == null) {
+      return heapUsage;
+    }
+
+    long indexBytes = index.estimatedBytes();
+    return new HeapUsage(
+        heapUsage.distinctIssueLinks(),
+        heapUsage.distinctLabels(),
+        heapUsage.plainBytes(),
+        heapUsage.retainedBytes() + indexBytes,
+        heapUsage.savedBytes() - indexBytes,
+        heapUsage.spilledBytes(),
+        heapUsage.commentBytes(),
+        heapUsage.compressedCommentBytes(),
+        indexBytes
+    );
+  }
+
+  public IssueLinkGraph issueLinkGraph() {
+    return issueLinkGraph;
+  }
+
+  /** Builds the index on first use; the caller must hold a lease if the rows may be spilled. */
+  public NearDuplicateIndex nearDuplicateIndex() {
+    NearDuplicateIndex index = nearDuplicateIndex;
+    if (index == null) {
+      synchronized (this) {
+        index = nearDuplicateIndex;
+        if (index == null) {
+          index = NearDuplicateIndex.build(items);
+          nearDuplicateIndex = index;
+        }
+      }
+    }
+    return index;
+  }
+
+  /**
+   * Takes a reference that keeps the rows of a spilled dataset readable until {@link #release()},
+   * even if the store evicts the dataset meanwhile. Returns false once the last reference is gone.
+   */
+  public boolean retain() {
+    while (true) {
+      int current = references.get();
+      if (current == 0) {
+        return false;
+      }
+      if (references.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /** Drops a reference; the last one closes the spill file of a spilled dataset. */
+  public void release() {
+    if (references.decrementAndGet() == 0 && items instanceof SpilledIncidentList spilledItems) {
+      spilledItems.close();
+    }
+  }
+
+  /** The {@code limit} most frequent label and issue link combinations, plus both totals. */
+  public CrossTab crossTab(int limit) {
+    CoOccurrenceMatrix matrix = labelIssueLinkMatrix;
+    int cellCount = Math.min(limit, matrix.cellCount());
+    List<CrossTabCell> cells = new ArrayList<>(cellCount);
+    for (int rank = 0; rank < cellCount; rank++) {
+      cells.add(new CrossTabCell(
+          bucketName(labels, matrix.cellRow(rank)),
+          bucketName(issueLinks, matrix.cellColumn(rank)),
+          matrix.cellValue(rank),
+          percentOf(matrix.cellValue(rank), matrix.total())
+      ));
+    }
+
+    List<StatRow> byLabel = totals(labels, matrix::rowTotal, matrix.total());
+    List<StatRow> byIssueLinks = totals(issueLinks, matrix::columnTotal, matrix.total());
+    return new CrossTab(matrix.total(), matrix.cellCount(), cells, byLabel, byIssueLinks);
+  }
+
+  private static List<StatRow> totals(StringDictionary dictionary, IntUnaryOperator totalOf, long total) {
+    List<StatRow> rows = new ArrayList<>(dictionary.size());
+    for (int code = 0; code < dictionary.size(); code++) {
+      int count = totalOf.applyAsInt(code);
+      rows.add(new StatRow(bucketName(dictionary, code), count, percentOf(count, total)));
+    }
+    rows.sort(Comparator.comparingLong(StatRow::count).reversed()
+        .thenComparing(StatRow::name, String.CASE_INSENSITIVE_ORDER));
+    return rows;
+  }
+
+  private static String bucketName(StringDictionary dictionary, int code) {
+    String value = dictionary.valueOf(code);
+    return value.isBlank() ? EMPTY_BUCKET : value;
+  }
+
+  private static double percentOf(long count, long total) {
+    return total == 0 ? 0 : Math.round(count * 1000.0 / total) / 10.0;
+  }
+
+  private HeapUsage estimateHeapUsage(long plainBytes, long commentBytes) {
+    long retainedBytes = HeapEstimates.arrayBytes(issueLinkCodes.length, 4)
+        + HeapEstimates.arrayBytes(labelCodes.length, 4)
+        + issueLinks.estimatedBytes()
+        + labels.estimatedBytes();
+    long spilledBytes = 0;
+    long compressedCommentBytes = 0;
+
+    if (items instanceof SpilledIncidentList spilledItems) {
+      retainedBytes += spilledItems.offsetsBytes();
+      spilledBytes = spilledItems.spilledBytes();
+    } else if (items instanceof CompressedIncidentList compressedItems) {
+      retainedBytes += compressedItems.retainedBytes();
+      compressedCommentBytes = compressedItems.compressedBytes();
+    } else {
+      retainedBytes += HeapEstimates.arrayBytes(items.size(), 4);
+      for (IncidentRow row : items) {
+        retainedBytes += HeapEstimates.rowBytes(ROW_FIELD_COUNT)
+            + HeapEstimates.stringBytes(row.issueKey())
+            + HeapEstimates.stringBytes(row.comment())
+            + HeapEstimates.listBytes(row.tags().size());
+      }
+    }
+
+    return new HeapUsage(
+        issueLinks.size(),
+        labels.size(),
+        plainBytes,
+        retainedBytes,
+        plainBytes - retainedBytes,
+        spilledBytes,
+        commentBytes,
+        compressedCommentBytes,
+        0
+    );
+  }
+}
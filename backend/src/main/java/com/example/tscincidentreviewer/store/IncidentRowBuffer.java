@@ -0,0 +1,156 @@
+package com.example.tscincidentreviewer.store;
+
+import com.example.tscincidentreviewer.exception.UploadLimitExceededException;
+import com.example.tscincidentreviewer.model.IncidentRow;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Collects parsed rows on heap until a threshold is crossed, then moves them to a temp file in a
+ * compact length-prefixed UTF-8 format and keeps appending there. {@link #finish()} returns either
+ * the heap list or a {@link SpilledIncidentList} reading from that file.
+ */
+public class IncidentRowBuffer {
+
+  private static final int OUTPUT_BUFFER_BYTES = 64 * 1024;
+
+  private final boolean spillEnabled;
+  private final int inMemoryThreshold;
+  private final long maxSpillBytes;
+
+  private List<IncidentRow> rows = new ArrayList<>();
+  private Path spillFile;
+  private OutputStream output;
+  private long[] offsets;
+  private int spilledRows;
+  private long spilledBytes;
+
+  private IncidentRowBuffer(boolean spillEnabled, int inMemoryThreshold, long maxSpillBytes) {
+    this.spillEnabled = spillEnabled;
+    this.inMemoryThreshold = inMemoryThreshold;
+    this.maxSpillBytes = maxSpillBytes;
+  }
+
+  public static IncidentRowBuffer inMemory() {
+    return new IncidentRowBuffer(false, Integer.MAX_VALUE, 0);
+  }
+
+  public static IncidentRowBuffer spilling(int inMemoryThreshold, long maxSpillBytes) {
+    return new IncidentRowBuffer(true, Math.max(0, inMemoryThreshold), maxSpillBytes);
+  }
+
+  public void append(IncidentRow row) throws IOException {
+    if (output == null) {
+      if (!spillEnabled || rows.size() < inMemoryThreshold) {
+        rows.add(row);
+        return;
+      }
+      startSpill();
+    }
+
+    writeRow(row);
+  }
+
+  public int size() {
+    return output == null ? rows.size() : spilledRows;
+  }
+
+  public List<IncidentRow> finish() throws IOException {
+    if (output == null) {
+      return rows;
+    }
+
+    output.close();
+    output = null;
+
+    FileChannel channel = FileChannel.open(spillFile, StandardOpenOption.READ);
+    try {
+      Files.deleteIfExists(spillFile);
+    } catch (IOException ex) {
+      spillFile.toFile().deleteOnExit();
+    }
+
+    long[] rowOffsets = Arrays.copyOf(offsets, spilledRows + 1);
+    rowOffsets[spilledRows] = spilledBytes;
+    return new SpilledIncidentList(channel, rowOffsets);
+  }
+
+  public void discard() {
+    rows = null;
+    if (output != null) {
+      try {
+        output.close();
+      } catch (IOException ignored) {
+        // the file is deleted below either way
+      }
+      output = null;
+    }
+    if (spillFile != null) {
+      try {
+        Files.deleteIfExists(spillFile);
+      } catch (IOException ex) {
+        spillFile.toFile().deleteOnExit();
+      }
+    }
+  }
+
+  private void startSpill() throws IOException {
+    spillFile = Files.createTempFile("tsc-upload-", ".rows");
+    output = new BufferedOutputStream(Files.newOutputStream(spillFile), OUTPUT_BUFFER_BYTES);
+    offsets = new long[Math.max(1024, rows.size() * 2)];
+
+    List<IncidentRow> pending = rows;
+    rows = null;
+    for (IncidentRow row : pending) {
+      writeRow(row);
+    }
+  }
+
+  private void writeRow(IncidentRow row) throws IOException {
+    if (spilledRows + 1 >= offsets.length) {
+      offsets = Arrays.copyOf(offsets, offsets.length * 2);
+    }
+
+    offsets[spilledRows] = spilledBytes;
+    spilledBytes += writeString(row.issueKey());
+    spilledBytes += writeString(row.issueLinks());
+    spilledBytes += writeString(row.label());
+    spilledBytes += writeString(row.comment());
+    spilledBytes += writeVarInt(row.tags().size());
+    for (String tag : row.tags()) {
+      spilledBytes += writeString(tag);
+    }
+    spilledRows++;
+
+    if (spilledBytes > maxSpillBytes) {
+      throw new UploadLimitExceededException("file exceeds upload disk budget");
+    }
+  }
+
+  private int writeString(String value) throws IOException {
+    byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+    int written = writeVarInt(bytes.length);
+    output.write(bytes);
+    return written + bytes.length;
+  }
+
+  private int writeVarInt(int value) throws IOException {
+    int written = 1;
+    while ((value & ~0x7F) != 0) {
+      output.write((value & 0x7F) | 0x80);
+      value >>>= 7;
+      written++;
+    }
+    output.write(value);
+    return written;
+  }
+}
@@ -1,21 +1,153 @@
 package com.example.tscincidentreviewer.store;
 
 import com.example.tscincidentreviewer.model.IncidentRow;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
 public class IncidentStore {
 
-  private final AtomicReference<List<IncidentRow>> latestItemsRef = new AtomicReference<>();
+  private static final int DEFAULT_RETAINED_SNAPSHOTS = 2;
+  private static final int DEFAULT_COMPRESSION_BLOCK_ROWS = 256;
+  private static final int DEFAULT_CACHED_COMMENT_BLOCKS = 32;
 
-  public void save(List<IncidentRow> items) {
-    latestItemsRef.set(List.copyOf(items));
+  private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+  private final AtomicLong versionSequence = new AtomicLong();
+  private final AtomicReference<IncidentDataset> latestDatasetRef = new AtomicReference<>();
+  private final ConcurrentNavigableMap<Long, IncidentDataset> snapshots = new ConcurrentSkipListMap<>();
+  private int retainedSnapshots = DEFAULT_RETAINED_SNAPSHOTS;
+  private boolean compressComments;
+  private int compressionBlockRows = DEFAULT_COMPRESSION_BLOCK_ROWS;
+  private int cachedCommentBlocks = DEFAULT_CACHED_COMMENT_BLOCKS;
+
+  @Value("${app.store.retained-snapshots:2}")
+  void setRetainedSnapshots(int retainedSnapshots) {
+    this.retainedSnapshots = retainedSnapshots <= 0 ? DEFAULT_RETAINED_SNAPSHOTS : retainedSnapshots;
+  }
+
+  @Value("${app.store.comment-compression.enabled:false}")
+  void setCompressComments(boolean compressComments) {
+    this.compressComments = compressComments;
+  }
+
+  @Value("${app.store.comment-compression.block-rows:256}")
+  void setCompressionBlockRows(int compressionBlockRows) {
+    this.compressionBlockRows = compressionBlockRows <= 0 ? DEFAULT_COMPRESSION_BLOCK_ROWS : compressionBlockRows;
+  }
+
+  @Value("${app.store.comment-compression.cached-blocks:32}")
+  void setCachedCommentBlocks(int cachedCommentBlocks) {
+    this.cachedCommentBlocks = Math.max(0, cachedCommentBlocks);
+  }
+
+  public IncidentDataset save(List<IncidentRow> items) {
+    return save(items, false);
+  }
+
+  /** Saves {@code items} and returns the new dataset already leased, see {@link #leaseLatest()}. */
+  public IncidentDataset saveAndLease(List<IncidentRow> items) {
+    return save(items, true);
+  }
+
+  private IncidentDataset save(List<IncidentRow> items, boolean lease) {
+    long version = versionSequence.incrementAndGet();
+    IncidentDataset dataset = IncidentDataset.of(
+        items,
+        version,
+        epoch + "-" + version,
+        compressComments ? compressionBlockRows : 0,
+        cachedCommentBlocks
+    );
+    if (lease) {
+      dataset.retain();
+    }
+    snapshots.put(version, dataset);
+    evictOlderThanRetained();
+    latestDatasetRef.accumulateAndGet(dataset, IncidentStore::newerOf);
+    return dataset;
+  }
+
+  public Optional<IncidentDataset> getLatest() {
+    return Optional.ofNullable(latestDatasetRef.get());
   }
 
   public Optional<List<IncidentRow>> getLatestItems() {
-    return Optional.ofNullable(latestItemsRef.get());
+    return getLatest().map(IncidentDataset::items);
+  }
+
+  public List<IncidentDataset> getSnapshots() {
+    return new ArrayList<>(snapshots.descendingMap().values());
+  }
+
+  public Optional<IncidentDataset> getSnapshot(String contentVersion) {
+    return snapshots.values().stream()
+        .filter(dataset -> dataset.contentVersion().equals(contentVersion))
+        .findFirst();
+  }
+
+  public Optional<IncidentDataset> getPrevious(IncidentDataset dataset) {
+    return Optional.ofNullable(snapshots.lowerEntry(dataset.version())).map(Map.Entry::getValue);
+  }
+
+  /**
+   * Like {@link #getLatest()}, with a reference taken for the caller so that eviction cannot close
+   * the rows while they are read. The caller must {@link IncidentDataset#release() release} it.
+   */
+  public Optional<IncidentDataset> leaseLatest() {
+    while (true) {
+      IncidentDataset latest = latestDatasetRef.get();
+      if (latest == null || latest.retain()) {
+        return Optional.ofNullable(latest);
+      }
+      // Evicted between a save and the publication of its newer dataset; that one is coming.
+      Thread.onSpinWait();
+    }
+  }
+
+  /** Like {@link #getSnapshot(String)}, leased as in {@link #leaseLatest()}. */
+  public Optional<IncidentDataset> leaseSnapshot(String contentVersion) {
+    return getSnapshot(contentVersion).filter(IncidentDataset::retain);
+  }
+
+  /** Like {@link #getPrevious(IncidentDataset)}, leased as in {@link #leaseLatest()}. */
+  public Optional<IncidentDataset> leasePrevious(IncidentDataset dataset) {
+    return getPrevious(dataset).filter(IncidentDataset::retain);
+  }
+
+  // Only drops snapshots that have retainedSnapshots newer ones, so concurrent saves cannot evict
+  // more than their share the way a size check followed by pollFirstEntry could.
+  private void evictOlderThanRetained() {
+    Iterator<Map.Entry<Long, IncidentDataset>> newestFirst = snapshots.descendingMap().entrySet().iterator();
+    int kept = 0;
+    while (newestFirst.hasNext()) {
+      Map.Entry<Long, IncidentDataset> entry = newestFirst.next();
+      if (++kept > retainedSnapshots && snapshots.remove(entry.getKey(), entry.getValue())) {
+        entry.getValue().release();
+      }
+    }
+  }
+
+  @PreDestroy
+  public void close() {
+    latestDatasetRef.set(null);
+    snapshots.values().forEach(IncidentDataset::release);
+    snapshots.clear();
+  }
+
+  private static IncidentDataset newerOf(IncidentDataset current, IncidentDataset candidate) {
+    if (current == null || candidate.version() > current.version()) {
+      return candidate;
+    }
+    return current;
   }
 }
@@ -0,0 +1,217 @@
+package com.example.tscincidentreviewer.store;
+
+import com.example.tscincidentreviewer.model.IncidentRow;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read-only list of rows backed by an already unlinked temp file written by
+ * {@link IncidentRowBuffer}. Only the row offsets stay on heap; rows are decoded on access.
+ * Positional reads keep it safe for concurrent readers.
+ *
+ * <p>{@link #close()} releases the file once reads already in progress have finished; reads
+ * started after that fail with {@link IllegalStateException}.
+ */
+public final class SpilledIncidentList extends AbstractList<IncidentRow> implements Closeable {
+
+  private static final int READ_CHUNK_BYTES = 64 * 1024;
+  private static final int CLOSED = Integer.MIN_VALUE;
+
+  private final FileChannel channel;
+  private final long[] offsets;
+  // CLOSED bit plus the number of reads in progress
+  private final AtomicInteger state = new AtomicInteger();
+
+  SpilledIncidentList(FileChannel channel, long[] offsets) {
+    this.channel = channel;
+    this.offsets = offsets;
+  }
+
+  @Override
+  public IncidentRow get(int index) {
+    if (index < 0 || index >= size()) {
+      throw new IndexOutOfBoundsException(index);
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate((int) (offsets[index + 1] - offsets[index]));
+    readFully(buffer, offsets[index]);
+    buffer.flip();
+    return decodeRow(buffer);
+  }
+
+  @Override
+  public int size() {
+    return offsets.length - 1;
+  }
+
+  @Override
+  public Iterator<IncidentRow> iterator() {
+    return new ChunkedIterator();
+  }
+
+  public long spilledBytes() {
+    return offsets[offsets.length - 1];
+  }
+
+  @Override
+  public void close() {
+    while (true) {
+      int current = state.get();
+      if ((current & CLOSED) != 0) {
+        return;
+      }
+      if (state.compareAndSet(current, current | CLOSED)) {
+        if (current == 0) {
+          closeChannel();
+        }
+        return;
+      }
+    }
+  }
+
+  boolean isOpen() {
+    return channel.isOpen();
+  }
+
+  long offsetsBytes() {
+    return HeapEstimates.arrayBytes(offsets.length, 8);
+  }
+
+  private void readFully(ByteBuffer buffer, long position) {
+    acquire();
+    try {
+      long current = position;
+      while (buffer.hasRemaining()) {
+        int read = channel.read(buffer, current);
+        if (read < 0) {
+          if (buffer.position() == 0) {
+            throw new EOFException("spilled rows are truncated");
+          }
+          return;
+        }
+        current += read;
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException("failed to read spilled rows", ex);
+    } finally {
+      release();
+    }
+  }
+
+  private void acquire() {
+    while (true) {
+      int current = state.get();
+      if ((current & CLOSED) != 0) {
+        throw new IllegalStateException("spilled rows were released after the dataset was evicted");
+      }
+      if (state.compareAndSet(current, current + 1)) {
+        return;
+      }
+    }
+  }
+
+  private void release() {
+    if (state.decrementAndGet() == CLOSED) {
+      closeChannel();
+    }
+  }
+
+  private void closeChannel() {
+    try {
+      channel.close();
+    } catch (IOException ex) {
+      throw new UncheckedIOException("failed to close spilled rows", ex);
+    }
+  }
+
+  private static IncidentRow decodeRow(ByteBuffer buffer) {
+    String issueKey = decodeString(buffer);
+    String issueLinks = decodeString(buffer);
+    String label = decodeString(buffer);
+    String comment = decodeString(buffer);
+
+    int tagCount = decodeVarInt(buffer);
+    if (tagCount == 0) {
+      return new IncidentRow(issueKey, issueLinks, label, comment);
+    }
+
+    String[] tags = new String[tagCount];
+    for (int i = 0; i < tagCount; i++) {
+      tags[i] = decodeString(buffer);
+    }
+    return new IncidentRow(issueKey, issueLinks, label, comment, List.of(tags));
+  }
+
+  private static String decodeString(ByteBuffer buffer) {
+    int length = decodeVarInt(buffer);
+
+    if (length == 0) {
+      return "";
+    }
+
+    String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+    buffer.position(buffer.position() + length);
+    return value;
+  }
+
+  private static int decodeVarInt(ByteBuffer buffer) {
+    int value = 0;
+    int shift = 0;
+    while (true) {
+      byte next = buffer.get();
+      value |= (next & 0x7F) << shift;
+      if ((next & 0x80) == 0) {
+        return value;
+      }
+      shift += 7;
+    }
+  }
+
+  private final class ChunkedIterator implements Iterator<IncidentRow> {
+
+    private final ByteBuffer chunk = ByteBuffer.allocate(READ_CHUNK_BYTES);
+    private long chunkStart;
+    private long chunkEnd;
+    private int next;
+
+    @Override
+    public boolean hasNext() {
+      return next < size();
+    }
+
+    @Override
+    public IncidentRow next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+
+      long start = offsets[next];
+      long end = offsets[next + 1];
+      if (end - start > READ_CHUNK_BYTES) {
+        return get(next++);
+      }
+
+      if (start < chunkStart || end > chunkEnd) {
+        chunk.clear();
+        readFully(chunk, start);
+        chunk.flip();
+        chunkStart = start;
+        chunkEnd = start + chunk.limit();
+      }
+
+      chunk.position((int) (start - chunkStart));
+      next++;
+      return decodeRow(chunk);
+    }
+  }
+}
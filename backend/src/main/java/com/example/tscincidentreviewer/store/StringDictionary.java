@@ -0,0 +1,57 @@
+package com.example.tscincidentreviewer.store;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Canonicalizes repeated string values (labels, issue links) so that every row holding the same
+ * value shares one instance, and assigns each distinct value a dense int code.
+ *
+ * <p>Instances are not thread-safe; a dictionary is filled by a single parse or save and only read
+ * afterwards.
+ */
+public class StringDictionary {
+
+  private final Map<String, Integer> codes = new HashMap<>();
+  private final List<String> values = new ArrayList<>();
+
+  public String intern(String value) {
+    return valueOf(codeOf(value));
+  }
+
+  public int codeOf(String value) {
+    String key = value == null ? "" : value;
+    Integer code = codes.get(key);
+    if (code != null) {
+      return code;
+    }
+
+    int nextCode = values.size();
+    codes.put(key, nextCode);
+    values.add(key);
+    return nextCode;
+  }
+
+  public int findCode(String value) {
+    Integer code = codes.get(value == null ? "" : value);
+    return code == null ? -1 : code;
+  }
+
+  public String valueOf(int code) {
+    return values.get(code);
+  }
+
+  public int size() {
+    return values.size();
+  }
+
+  public long estimatedBytes() {
+    long total = 0;
+    for (String value : values) {
+      total += HeapEstimates.stringBytes(value);
+    }
+    return total;
+  }
+}
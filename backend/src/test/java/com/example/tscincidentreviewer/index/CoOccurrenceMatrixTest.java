@@ -0,0 +1,55 @@
+package com.example.tscincidentreviewer.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.tscincidentreviewer.model.CrossTab;
+import com.example.tscincidentreviewer.model.CrossTabCell;
+import com.example.tscincidentreviewer.model.IncidentRow;
+import com.example.tscincidentreviewer.model.StatRow;
+import com.example.tscincidentreviewer.store.IncidentStore;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CoOccurrenceMatrixTest {
+
+  @Test
+  void buildCountsOnlyOccurringPairsRankedByCount() {
+    int[] rows = {0, 1, 0, 2, 0, 1};
+    int[] columns = {1, 0, 1, 1, 3, 0};
+
+    CoOccurrenceMatrix matrix = CoOccurrenceMatrix.build(rows, 3, columns, 4);
+
+    assertEquals(6, matrix.total());
+    assertEquals(4, matrix.cellCount());
+    assertEquals(2, matrix.cellValue(0));
+    assertEquals(2, matrix.cellValue(1));
+    assertEquals(1, matrix.cellValue(3));
+    assertEquals(0, matrix.cellRow(0));
+    assertEquals(1, matrix.cellColumn(0));
+    assertEquals(1, matrix.cellRow(1));
+    assertEquals(0, matrix.cellColumn(1));
+    assertEquals(3, matrix.rowTotal(0));
+    assertEquals(3, matrix.columnTotal(1));
+    assertEquals(0, matrix.columnTotal(2));
+  }
+
+  @Test
+  void datasetCrossTabReturnsTopCellsAndTotals() {
+    CrossTab crossTab = new IncidentStore().save(List.of(
+        new IncidentRow("TSC-1", "Payments", "bug", "a"),
+        new IncidentRow("TSC-2", "Payments", "bug", "b"),
+        new IncidentRow("TSC-3", "Billing", "bug", "c"),
+        new IncidentRow("TSC-4", "", "ops", "d")
+    )).crossTab(2);
+
+    assertEquals(4, crossTab.total());
+    assertEquals(3, crossTab.distinctCells());
+    assertEquals(List.of(
+        new CrossTabCell("bug", "Payments", 2, 50.0),
+        new CrossTabCell("bug", "Billing", 1, 25.0)
+    ), crossTab.cells());
+    assertEquals(List.of(new StatRow("bug", 3, 75.0), new StatRow("ops", 1, 25.0)), crossTab.byLabel());
+    assertEquals(List.of("Payments", "(empty)", "Billing"),
+        crossTab.byIssueLinks().stream().map(StatRow::name).toList());
+  }
+}
@@ -0,0 +1,82 @@
+package com.example.tscincidentreviewer.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.tscincidentreviewer.model.IncidentRow;
+import com.example.tscincidentreviewer.model.IssueCluster;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class IssueLinkGraphTest {
+
+  @Test
+  void incidentsSharingLinkedKeysFormOneCluster() {
+    IssueLinkGraph graph = IssueLinkGraph.build(List.of(
+        new IncidentRow("TSC-1", "PRB-1", "bug", ""),
+        new IncidentRow("TSC-2", "PRB-1, PRB-2", "bug", ""),
+        new IncidentRow("TSC-3", "PRB-2", "bug", ""),
+        new IncidentRow("TSC-4", "PRB-9", "bug", ""),
+        new IncidentRow("TSC-5", "", "bug", "")
+    ));
+
+    IssueCluster cluster = graph.clusterOf("TSC-3").orElseThrow();
+
+    assertEquals(3, cluster.incidentCount());
+    assertEquals(List.of("TSC-1", "TSC-2", "TSC-3"), cluster.issueKeys());
+    assertEquals(List.of("PRB-1", "PRB-2"), cluster.linkedKeys());
+    assertEquals(cluster, graph.clusterOf("PRB-1").orElseThrow());
+  }
+
+  @Test
+  void linkToAnotherIncidentKeyMergesTheirClusters() {
+    IssueLinkGraph graph = IssueLinkGraph.build(List.of(
+        new IncidentRow("TSC-1", "TSC-2", "", ""),
+        new IncidentRow("TSC-2", "", "", ""),
+        new IncidentRow("TSC-3", "", "", "")
+    ));
+
+    IssueCluster cluster = graph.clusterOf("TSC-1").orElseThrow();
+
+    assertEquals(2, cluster.incidentCount());
+    assertEquals(List.of("TSC-1", "TSC-2"), cluster.issueKeys());
+    assertTrue(cluster.linkedKeys().isEmpty());
+  }
+
+  @Test
+  void largestReturnsClustersBySizeAndSkipsSmallOnes() {
+    IssueLinkGraph graph = IssueLinkGraph.build(List.of(
+        new IncidentRow("TSC-1", "PRB-1", "", ""),
+        new IncidentRow("TSC-2", "PRB-2", "", ""),
+        new IncidentRow("TSC-3", "PRB-2", "", ""),
+        new IncidentRow("TSC-4", "PRB-2", "", ""),
+        new IncidentRow("TSC-5", "PRB-1", "", ""),
+        new IncidentRow("TSC-6", "", "", "")
+    ));
+
+    List<IssueCluster> largest = graph.largest(10, 2);
+
+    assertEquals(2, largest.size());
+    assertEquals(3, largest.get(0).incidentCount());
+    assertEquals(List.of("PRB-2"), largest.get(0).linkedKeys());
+    assertEquals(2, largest.get(1).incidentCount());
+    assertTrue(graph.clusterOf("UNKNOWN").isEmpty());
+  }
+
+  @Test
+  void neighborsListDirectLinksInBothDirections() {
+    IssueLinkGraph graph = IssueLinkGraph.build(List.of(
+        new IncidentRow("TSC-1", "PRB-1; TSC-2", "", ""),
+        new IncidentRow("TSC-2", "PRB-1, PRB-1", "", ""),
+        new IncidentRow("TSC-3", "PRB-2", "", ""),
+        new IncidentRow("", "PRB-3", "", "")
+    ));
+
+    assertEquals(List.of("PRB-1", "TSC-2"), graph.neighbors("TSC-1").orElseThrow());
+    assertEquals(List.of("PRB-1", "TSC-1"), graph.neighbors("TSC-2").orElseThrow());
+    assertEquals(List.of("TSC-1", "TSC-2"), graph.neighbors(" PRB-1 ").orElseThrow());
+    assertEquals(List.of("TSC-3"), graph.neighbors("PRB-2").orElseThrow());
+    assertEquals(List.of(), graph.neighbors("PRB-3").orElseThrow());
+    assertTrue(graph.neighbors("UNKNOWN").isEmpty());
+  }
+}
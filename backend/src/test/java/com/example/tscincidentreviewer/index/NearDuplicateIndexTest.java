@@ -0,0 +1,57 @@
+package com.example.tscincidentreviewer.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.tscincidentreviewer.model.DuplicateGroup;
+import com.example.tscincidentreviewer.model.IncidentRow;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class NearDuplicateIndexTest {
+
+  @Test
+  void groupsCommentsThatDifferOnlySlightly() {
+    NearDuplicateIndex index = NearDuplicateIndex.build(List.of(
+        new IncidentRow("TSC-1", "", "", "Payment gateway timeout while settling card transaction for merchant acme after retry"),
+        new IncidentRow("TSC-2", "", "", "payment gateway timeout while settling card transaction for merchant acme after retry!"),
+        new IncidentRow("TSC-3", "", "", "Customer cannot log in because the password reset email never arrives"),
+        new IncidentRow("TSC-4", "", "", "")
+    ));
+
+    List<DuplicateGroup> groups = index.groups(0.8, 10);
+
+    assertEquals(1, groups.size());
+    assertEquals(List.of("TSC-1", "TSC-2"), groups.get(0).issueKeys());
+  }
+
+  @Test
+  void similarityEstimatesJaccardOfShingles() {
+    NearDuplicateIndex index = NearDuplicateIndex.build(List.of(
+        new IncidentRow("TSC-1", "", "", "alpha beta gamma delta epsilon zeta eta theta iota kappa"),
+        new IncidentRow("TSC-2", "", "", "alpha beta gamma delta epsilon zeta eta theta iota kappa"),
+        new IncidentRow("TSC-3", "", "", "lambda mu nu xi omicron pi rho sigma tau upsilon")
+    ));
+
+    assertEquals(1.0, index.similarity(0, 1));
+    assertTrue(index.similarity(0, 2) < 0.2);
+  }
+
+  @Test
+  void largeGroupOfRepeatedCommentsIsFoundInOnePass() {
+    List<IncidentRow> rows = new ArrayList<>();
+    for (int i = 0; i < 2_000; i++) {
+      String comment = i % 2 == 0
+          ? "Settlement batch failed for merchant with error code E" + (i % 10 == 0 ? "42" : "17")
+              + " and was retried by the scheduler"
+          : "unique comment number " + i + " about topic " + (i * 7919);
+      rows.add(new IncidentRow("TSC-" + i, "", "", comment));
+    }
+
+    List<DuplicateGroup> groups = NearDuplicateIndex.build(rows).groups(0.9, 10);
+
+    assertEquals(800, groups.get(0).size());
+    assertEquals(200, groups.get(1).size());
+  }
+}
@@ -0,0 +1,292 @@
+package com.example.tscincidentreviewer.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+/**
+ * Drives concurrent uploads and exports against the app on a random port and prints latency
+ * percentiles, throughput, error rate, the first failures of each operation and peak heap.
+ * Excluded from the default build; run with {@code mvn -Pload-test test}. Tune with
+ * {@code -Dload.clients}, {@code -Dload.iterations}, {@code -Dload.rows} and
+ * {@code -Dload.max-error-rate}.
+ *
+ * <p>The clients run in the same JVM as the server, so heap figures are whole-JVM. The report
+ * shows the peak and the peak above the heap retained before the run (Spring context and the
+ * generated files); the latter still includes the clients' request buffers.
+ */
+@Tag("load")
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "spring.servlet.multipart.max-file-size=256MB",
+        "spring.servlet.multipart.max-request-size=256MB"
+    }
+)
+class IncidentLoadTest {
+
+  private static final String[] LABELS = {"bug", "incident", "bug, urgent", "sev1", "task", ""};
+  private static final String[] ISSUE_LINKS = {"Payments", "Billing", "Payments, Billing", "Ops", "KYC", ""};
+  private static final int MAX_FAILURE_SAMPLES = 3;
+
+  private final int clients = Integer.getInteger("load.clients", 20);
+  private final int iterations = Integer.getInteger("load.iterations", 10);
+  private final int rows = Integer.getInteger("load.rows", 2_000);
+  private final double maxErrorRate = Double.parseDouble(System.getProperty("load.max-error-rate", "0.01"));
+
+  @LocalServerPort
+  private int port;
+
+  private final HttpClient httpClient = HttpClient.newBuilder()
+      .connectTimeout(Duration.ofSeconds(10))
+      .build();
+
+  private final Map<String, ConcurrentLinkedQueue<Long>> latenciesByOperation = new ConcurrentHashMap<>();
+  private final AtomicLong requests = new AtomicLong();
+  private final AtomicLong errors = new AtomicLong();
+  private final Map<String, List<String>> failuresByOperation = new ConcurrentHashMap<>();
+
+  @Test
+  void concurrentUploadsAndExports() throws Exception {
+    byte[] csv = generateCsv(rows);
+    byte[] xlsx = generateXlsx(rows);
+
+    long baselineHeapBytes = resetPeakHeap();
+
+    ExecutorService executor = Executors.newFixedThreadPool(clients);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+
+    for (int client = 0; client < clients; client++) {
+      boolean useXlsx = client % 2 == 1;
+      futures.add(executor.submit(() -> {
+        start.await();
+        for (int i = 0; i < iterations; i++) {
+          if (useXlsx) {
+            timed("upload-xlsx", () -> upload("incidents.xlsx", xlsx));
+          } else {
+            timed("upload-csv", () -> upload("incidents.csv", csv));
+          }
+          timed("export-xlsx", this::export);
+        }
+        return null;
+      }));
+    }
+
+    long startedAt = System.nanoTime();
+    start.countDown();
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    long elapsedNanos = System.nanoTime() - startedAt;
+    executor.shutdown();
+    executor.awaitTermination(1, TimeUnit.MINUTES);
+
+    double errorRate = requests.get() == 0 ? 0 : (double) errors.get() / requests.get();
+    printReport(elapsedNanos, errorRate, baselineHeapBytes, peakHeapBytes());
+
+    assertTrue(
+        errorRate <= maxErrorRate,
+        String.format(Locale.ROOT, "error rate %.4f exceeds %.4f", errorRate, maxErrorRate)
+    );
+  }
+
+  private int upload(String filename, byte[] content) throws IOException, InterruptedException {
+    String boundary = "----load-" + UUID.randomUUID();
+    ByteArrayOutputStream body = new ByteArrayOutputStream(content.length + 256);
+    body.write(("--" + boundary + "\r\n"
+        + "Content-Disposition: form-data; name=\"file\"; filename=\"" + filename + "\"\r\n"
+        + "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+    body.write(content);
+    body.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+    HttpRequest request = HttpRequest.newBuilder(uri("/api/incidents/upload"))
+        .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+        .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+        .build();
+
+    return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+  }
+
+  private int export() throws IOException, InterruptedException {
+    HttpRequest request = HttpRequest.newBuilder(uri("/api/incidents/export/xlsx")).GET().build();
+    return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+  }
+
+  private void timed(String operation, HttpCall call) {
+    long startedAt = System.nanoTime();
+    String failure = null;
+    try {
+      int status = call.execute();
+      if (status >= 400) {
+        failure = "HTTP " + status;
+      }
+    } catch (Exception ex) {
+      failure = ex.toString();
+    }
+    long elapsed = System.nanoTime() - startedAt;
+
+    requests.incrementAndGet();
+    if (failure != null) {
+      errors.incrementAndGet();
+      List<String> samples = failuresByOperation.computeIfAbsent(operation, key -> new ArrayList<>());
+      synchronized (samples) {
+        if (samples.size() < MAX_FAILURE_SAMPLES) {
+          samples.add(failure);
+        }
+      }
+    }
+    latenciesByOperation.computeIfAbsent(operation, key -> new ConcurrentLinkedQueue<>()).add(elapsed);
+  }
+
+  private void printReport(long elapsedNanos, double errorRate, long baselineHeapBytes, long peakHeapBytes) {
+    double elapsedSeconds = elapsedNanos / 1_000_000_000.0;
+    StringBuilder report = new StringBuilder();
+    report.append(String.format(Locale.ROOT,
+        "%nLoad test: %d clients x %d iterations, %d rows per file%n", clients, iterations, rows));
+    report.append(String.format(Locale.ROOT,
+        "%-12s %8s %10s %10s %10s%n", "operation", "count", "p50 ms", "p95 ms", "p99 ms"));
+
+    latenciesByOperation.entrySet().stream()
+        .sorted(Map.Entry.comparingByKey())
+        .forEach(entry -> {
+          long[] sorted = entry.getValue().stream().mapToLong(Long::longValue).sorted().toArray();
+          report.append(String.format(Locale.ROOT, "%-12s %8d %10.1f %10.1f %10.1f%n",
+              entry.getKey(),
+              sorted.length,
+              percentileMillis(sorted, 0.50),
+              percentileMillis(sorted, 0.95),
+              percentileMillis(sorted, 0.99)));
+        });
+
+    report.append(String.format(Locale.ROOT,
+        "throughput: %.1f req/s, error rate: %.2f%%%n",
+        requests.get() / elapsedSeconds,
+        errorRate * 100.0));
+    report.append(String.format(Locale.ROOT,
+        "JVM peak heap (server and clients): %.1f MB, %.1f MB above the %.1f MB retained before the run%n",
+        peakHeapBytes / (1024.0 * 1024.0),
+        Math.max(0, peakHeapBytes - baselineHeapBytes) / (1024.0 * 1024.0),
+        baselineHeapBytes / (1024.0 * 1024.0)));
+
+    failuresByOperation.entrySet().stream()
+        .sorted(Map.Entry.comparingByKey())
+        .forEach(entry -> {
+          synchronized (entry.getValue()) {
+            report.append(String.format(Locale.ROOT, "first failures of %s: %s%n",
+                entry.getKey(), String.join("; ", entry.getValue())));
+          }
+        });
+
+    System.out.println(report);
+  }
+
+  private double percentileMillis(long[] sorted, double percentile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int index = (int) Math.ceil(percentile * sorted.length) - 1;
+    return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+  }
+
+  /** Collects garbage, resets the heap pools' peaks and returns the heap still in use. */
+  private long resetPeakHeap() {
+    System.gc();
+    long used = 0;
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP) {
+        pool.resetPeakUsage();
+        used += pool.getUsage().getUsed();
+      }
+    }
+    return used;
+  }
+
+  private long peakHeapBytes() {
+    long total = 0;
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+        total += pool.getPeakUsage().getUsed();
+      }
+    }
+    return total;
+  }
+
+  private URI uri(String path) {
+    return URI.create("http://localhost:" + port + path);
+  }
+
+  private static byte[] generateCsv(int rowCount) {
+    StringBuilder csv = new StringBuilder("\"Issue key\",\"Custom field (Issue Links)\",\"Labels\",\"Comment\"\n");
+    for (int i = 0; i < rowCount; i++) {
+      csv.append("\"TSC-").append(i).append("\",\"")
+          .append(ISSUE_LINKS[i % ISSUE_LINKS.length]).append("\",\"")
+          .append(LABELS[i % LABELS.length]).append("\",\"")
+          .append("25/Feb/26 10:06 AM;").append(i).append(":uuid;")
+          .append(commentFor(i)).append("\"\n");
+    }
+    return csv.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static byte[] generateXlsx(int rowCount) throws IOException {
+    try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+      Sheet sheet = workbook.createSheet("incidents");
+      Row header = sheet.createRow(0);
+      header.createCell(0).setCellValue("Issue Key");
+      header.createCell(1).setCellValue("Custom Field (Issue Links)");
+      header.createCell(2).setCellValue("Label");
+      header.createCell(3).setCellValue("Comment");
+
+      for (int i = 0; i < rowCount; i++) {
+        Row row = sheet.createRow(i + 1);
+        row.createCell(0).setCellValue("TSC-" + i);
+        row.createCell(1).setCellValue(ISSUE_LINKS[i % ISSUE_LINKS.length]);
+        row.createCell(2).setCellValue(LABELS[i % LABELS.length]);
+        row.createCell(3).setCellValue(commentFor(i));
+      }
+
+      workbook.write(output);
+      return output.toByteArray();
+    }
+  }
+
+  private static String commentFor(int index) {
+    return "Customer reports failed payment attempt " + index
+        + " after retry, gateway returned timeout while settling the transaction";
+  }
+
+  @FunctionalInterface
+  private interface HttpCall {
+    int execute() throws Exception;
+  }
+}
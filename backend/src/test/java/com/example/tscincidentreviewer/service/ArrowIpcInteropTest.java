@@ -0,0 +1,83 @@
+package com.example.tscincidentreviewer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.tscincidentreviewer.model.IncidentRow;
+import com.example.tscincidentreviewer.store.IncidentDataset;
+import com.example.tscincidentreviewer.store.IncidentStore;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Reads the stream back with the Apache Arrow Java reader, so the format is checked by an
+ * implementation other than the one in {@link ArrowIpcWriterTest}.
+ */
+class ArrowIpcInteropTest {
+
+  @Test
+  void referenceReaderDecodesSchemaDictionariesAndBatches() throws IOException {
+    List<IncidentRow> rows = List.of(
+        new IncidentRow("TSC-1", "Payments", "bug", "first", List.of("card")),
+        new IncidentRow("TSC-2", "Billing", "bug", "zweite Zeile äö"),
+        new IncidentRow("TSC-3", "Payments", "ops", "third", List.of("card", "auth"))
+    );
+    IncidentDataset dataset = new IncidentStore().save(rows);
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    ArrowIpcWriter.write(dataset, output, 2);
+
+    List<IncidentRow> decoded = new ArrayList<>();
+    List<Integer> batchSizes = new ArrayList<>();
+    try (BufferAllocator allocator = new RootAllocator();
+        ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(output.toByteArray()), allocator)) {
+      VectorSchemaRoot root = reader.getVectorSchemaRoot();
+      List<Field> fields = root.getSchema().getFields();
+      assertEquals(List.of("issueKey", "issueLinks", "label", "comment", "tags"),
+          fields.stream().map(Field::getName).toList());
+      assertEquals(0L, fields.get(1).getDictionary().getId());
+      assertEquals(1L, fields.get(2).getDictionary().getId());
+
+      while (reader.loadNextBatch()) {
+        Map<Long, Dictionary> dictionaries = reader.getDictionaryVectors();
+        VarCharVector issueKeys = (VarCharVector) root.getVector("issueKey");
+        IntVector issueLinkCodes = (IntVector) root.getVector("issueLinks");
+        IntVector labelCodes = (IntVector) root.getVector("label");
+        VarCharVector comments = (VarCharVector) root.getVector("comment");
+        ListVector tags = (ListVector) root.getVector("tags");
+
+        batchSizes.add(root.getRowCount());
+        for (int i = 0; i < root.getRowCount(); i++) {
+          decoded.add(new IncidentRow(
+              issueKeys.getObject(i).toString(),
+              dictionaryValue(dictionaries.get(0L), issueLinkCodes.get(i)),
+              dictionaryValue(dictionaries.get(1L), labelCodes.get(i)),
+              comments.getObject(i).toString(),
+              tags.getObject(i).stream().map(Object::toString).toList()
+          ));
+        }
+      }
+    }
+
+    assertEquals(List.of(2, 1), batchSizes);
+    assertEquals(rows, decoded);
+    assertTrue(decoded.get(1).tags().isEmpty());
+  }
+
+  private static String dictionaryValue(Dictionary dictionary, int code) {
+    return ((VarCharVector) dictionary.getVector()).getObject(code).toString();
+  }
+}
@@ -0,0 +1,182 @@
+package com.example.tscincidentreviewer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.tscincidentreviewer.model.IncidentRow;
+import com.example.tscincidentreviewer.store.IncidentDataset;
+import com.example.tscincidentreviewer.store.IncidentStore;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ArrowIpcWriterTest {
+
+  @Test
+  void writeEmitsSchemaDictionariesBatchesAndEndOfStream() throws IOException {
+    IncidentDataset dataset = new IncidentStore().save(List.of(
+        new IncidentRow("TSC-1", "Payments", "bug", "first", List.of("card")),
+        new IncidentRow("TSC-2", "Billing", "bug", "zweite Zeile äö"),
+        new IncidentRow("TSC-3", "Payments", "ops", "third", List.of("card", "auth"))
+    ));
+
+    List<Message> messages = readStream(dataset, 2);
+
+    assertEquals(List.of(1, 2, 2, 3, 3), messages.stream().map(Message::headerType).toList());
+
+    Table schema = messages.get(0).header();
+    List<Table> fields = schema.tables(1);
+    assertEquals(List.of("issueKey", "issueLinks", "label", "comment", "tags"),
+        fields.stream().map(field -> field.string(0)).toList());
+    assertEquals(0L, fields.get(1).table(4).longValue(0));
+    assertEquals(1L, fields.get(2).table(4).longValue(0));
+    assertEquals(32, fields.get(2).table(4).table(1).intValue(0));
+    assertEquals("item", fields.get(4).tables(5).get(0).string(0));
+
+    Message issueLinks = messages.get(1);
+    assertEquals(0L, issueLinks.header().longValue(0));
+    assertEquals(List.of("Payments", "Billing"), utf8(issueLinks, issueLinks.header().table(1), 0));
+
+    Message firstBatch = messages.get(3);
+    Table batch = firstBatch.header();
+    assertEquals(2L, batch.longValue(0));
+    assertEquals(List.of("TSC-1", "TSC-2"), utf8(firstBatch, batch, 0));
+    assertEquals(List.of(0, 1), ints(firstBatch, batch, 4, 2));
+    assertEquals(List.of(0, 0), ints(firstBatch, batch, 6, 2));
+    assertEquals(List.of("first", "zweite Zeile äö"), utf8(firstBatch, batch, 7));
+    assertEquals(List.of(0, 1, 1), ints(firstBatch, batch, 11, 3));
+    assertEquals(List.of("card"), utf8(firstBatch, batch, 12));
+
+    Message secondBatch = messages.get(4);
+    assertEquals(1L, secondBatch.header().longValue(0));
+    assertEquals(List.of("card", "auth"), utf8(secondBatch, secondBatch.header(), 12));
+  }
+
+  private List<Message> readStream(IncidentDataset dataset, int batchRows) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    ArrowIpcWriter.write(dataset, output, batchRows);
+    ByteBuffer stream = ByteBuffer.wrap(output.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+
+    List<Message> messages = new ArrayList<>();
+    while (true) {
+      assertEquals(-1, stream.getInt());
+      int metadataLength = stream.getInt();
+      if (metadataLength == 0) {
+        assertEquals(0, stream.remaining());
+        return messages;
+      }
+      assertEquals(0, metadataLength % 8);
+
+      ByteBuffer metadata = slice(stream, stream.position(), metadataLength);
+      Table message = new Table(metadata, metadata.getInt(0));
+      assertEquals(4, message.shortValue(0));
+      long bodyLength = message.longValue(3);
+      ByteBuffer body = slice(stream, stream.position() + metadataLength, (int) bodyLength);
+      stream.position(stream.position() + metadataLength + (int) bodyLength);
+      messages.add(new Message(message.byteValue(1), message.table(2), body));
+    }
+  }
+
+  private static List<String> utf8(Message message, Table batch, int firstBuffer) {
+    long[] offsetsBuffer = batch.longPair(2, firstBuffer + 1);
+    long[] dataBuffer = batch.longPair(2, firstBuffer + 2);
+    int count = (int) (offsetsBuffer[1] / 4) - 1;
+    List<String> values = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      int start = message.body().getInt((int) offsetsBuffer[0] + 4 * i);
+      int end = message.body().getInt((int) offsetsBuffer[0] + 4 * (i + 1));
+      byte[] bytes = new byte[end - start];
+      message.body().get((int) dataBuffer[0] + start, bytes);
+      values.add(new String(bytes, StandardCharsets.UTF_8));
+    }
+    return values;
+  }
+
+  private static List<Integer> ints(Message message, Table batch, int bufferIndex, int count) {
+    long[] buffer = batch.longPair(2, bufferIndex);
+    assertEquals(count * 4L, buffer[1]);
+    List<Integer> values = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      values.add(message.body().getInt((int) buffer[0] + 4 * i));
+    }
+    return values;
+  }
+
+  private static ByteBuffer slice(ByteBuffer source, int position, int length) {
+    return source.duplicate().position(position).limit(position + length).slice().order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  private record Message(int headerType, Table header, ByteBuffer body) {
+  }
+
+  private record Table(ByteBuffer buffer, int position) {
+
+    private int fieldPosition(int id) {
+      int vtable = position - buffer.getInt(position);
+      int vtableSize = buffer.getShort(vtable);
+      if (4 + 2 * id >= vtableSize) {
+        return 0;
+      }
+      int offset = buffer.getShort(vtable + 4 + 2 * id);
+      return offset == 0 ? 0 : position + offset;
+    }
+
+    private int target(int id) {
+      int field = fieldPosition(id);
+      return field + buffer.getInt(field);
+    }
+
+    int byteValue(int id) {
+      int field = fieldPosition(id);
+      return field == 0 ? 0 : buffer.get(field);
+    }
+
+    int shortValue(int id) {
+      int field = fieldPosition(id);
+      return field == 0 ? 0 : buffer.getShort(field);
+    }
+
+    int intValue(int id) {
+      int field = fieldPosition(id);
+      return field == 0 ? 0 : buffer.getInt(field);
+    }
+
+    long longValue(int id) {
+      int field = fieldPosition(id);
+      assertEquals(0, field % 8);
+      return field == 0 ? 0 : buffer.getLong(field);
+    }
+
+    Table table(int id) {
+      return new Table(buffer, target(id));
+    }
+
+    String string(int id) {
+      int start = target(id);
+      byte[] bytes = new byte[buffer.getInt(start)];
+      buffer.get(start + 4, bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    List<Table> tables(int id) {
+      int vector = target(id);
+      List<Table> tables = new ArrayList<>();
+      for (int i = 0; i < buffer.getInt(vector); i++) {
+        int element = vector + 4 + 4 * i;
+        tables.add(new Table(buffer, element + buffer.getInt(element)));
+      }
+      return tables;
+    }
+
+    long[] longPair(int id, int index) {
+      int vector = target(id);
+      int element = vector + 4 + 16 * index;
+      assertEquals(0, element % 8);
+      return new long[] {buffer.getLong(element), buffer.getLong(element + 8)};
+    }
+  }
+}
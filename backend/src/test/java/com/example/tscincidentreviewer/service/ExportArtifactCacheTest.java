@@ -0,0 +1,135 @@
+package com.example.tscincidentreviewer.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ExportArtifactCacheTest {
+
+  private ExportArtifactCache cache;
+
+  @AfterEach
+  void tearDown() {
+    if (cache != null) {
+      cache.clear();
+    }
+  }
+
+  @Test
+  void getOrBuildReusesArtifactForSameVersion() throws Exception {
+    cache = new ExportArtifactCache(1024, false, 0);
+    AtomicInteger builds = new AtomicInteger();
+
+    ExportArtifactCache.Artifact first = cache.getOrBuild("xlsx", 1, "v1", () -> bytes(builds, 10));
+    ExportArtifactCache.Artifact second = cache.getOrBuild("xlsx", 1, "v1", () -> bytes(builds, 10));
+
+    assertEquals(1, builds.get());
+    assertEquals("\"xlsx-v1\"", first.etag());
+    assertArrayEquals(first.content(), second.content());
+  }
+
+  @Test
+  void getOrBuildRebuildsWhenVersionChanges() throws Exception {
+    cache = new ExportArtifactCache(1024, false, 0);
+    AtomicInteger builds = new AtomicInteger();
+
+    cache.getOrBuild("xlsx", 1, "v1", () -> bytes(builds, 10));
+    ExportArtifactCache.Artifact next = cache.getOrBuild("xlsx", 2, "v2", () -> bytes(builds, 10));
+
+    assertEquals(2, builds.get());
+    assertEquals("\"xlsx-v2\"", next.etag());
+    assertEquals(10, cache.memoryBytes());
+  }
+
+  @Test
+  void olderVersionIsBuiltWithoutReplacingCurrentArtifacts() throws Exception {
+    cache = new ExportArtifactCache(1024, false, 0);
+    AtomicInteger builds = new AtomicInteger();
+
+    cache.getOrBuild("xlsx", 2, "v2", () -> bytes(builds, 10));
+    ExportArtifactCache.Artifact older = cache.getOrBuild("xlsx", 1, "v1", () -> bytes(builds, 4));
+    cache.getOrBuild("xlsx", 1, "v1", () -> bytes(builds, 4));
+    ExportArtifactCache.Artifact current = cache.getOrBuild("xlsx", 2, "v2", () -> bytes(builds, 10));
+
+    assertEquals(3, builds.get());
+    assertEquals("\"xlsx-v1\"", older.etag());
+    assertEquals(4, older.content().length);
+    assertEquals(10, current.content().length);
+    assertEquals(10, cache.memoryBytes());
+  }
+
+  @Test
+  void concurrentRequestsShareOneBuild() throws Exception {
+    cache = new ExportArtifactCache(1024, false, 0);
+    AtomicInteger builds = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<ExportArtifactCache.Artifact> first = executor.submit(() -> cache.getOrBuild("xlsx", 1, "v1", () -> {
+        started.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException ex) {
+          throw new InterruptedIOException();
+        }
+        return bytes(builds, 10);
+      }));
+      started.await();
+      Future<ExportArtifactCache.Artifact> second = executor.submit(
+          () -> cache.getOrBuild("xlsx", 1, "v1", () -> bytes(builds, 10)));
+      Thread.sleep(50);
+      release.countDown();
+
+      assertSame(first.get(5, TimeUnit.SECONDS).content(), second.get(5, TimeUnit.SECONDS).content());
+      assertEquals(1, builds.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void evictedArtifactsAreSpilledAndServedFromDisk() throws Exception {
+    cache = new ExportArtifactCache(16, true, 1024);
+    AtomicInteger builds = new AtomicInteger();
+
+    cache.getOrBuild("xlsx", 1, "v1", () -> bytes(builds, 12));
+    cache.getOrBuild("arrow", 1, "v1", () -> bytes(builds, 12));
+
+    assertEquals(12, cache.memoryBytes());
+    assertEquals(12, cache.spilledBytes());
+
+    ExportArtifactCache.Artifact spilled = cache.getOrBuild("xlsx", 1, "v1", () -> bytes(builds, 12));
+
+    assertEquals(2, builds.get());
+    assertEquals(12, spilled.content().length);
+  }
+
+  @Test
+  void evictedArtifactsAreDroppedWhenSpillIsDisabled() throws Exception {
+    cache = new ExportArtifactCache(16, false, 0);
+    AtomicInteger builds = new AtomicInteger();
+
+    cache.getOrBuild("xlsx", 1, "v1", () -> bytes(builds, 12));
+    cache.getOrBuild("arrow", 1, "v1", () -> bytes(builds, 12));
+    cache.getOrBuild("xlsx", 1, "v1", () -> bytes(builds, 12));
+
+    assertEquals(3, builds.get());
+    assertEquals(0, cache.spilledBytes());
+  }
+
+  private byte[] bytes(AtomicInteger builds, int size) {
+    builds.incrementAndGet();
+    return new byte[size];
+  }
+}
@@ -0,0 +1,96 @@
+package com.example.tscincidentreviewer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class KeywordTaggerTest {
+
+  @Test
+  void tagMatchesOverlappingKeywordsCaseInsensitively() {
+    KeywordTagger tagger = KeywordTagger.build(Map.of(
+        "card", List.of("card payment", "visa"),
+        "timeout", List.of("payment timeout")
+    ));
+
+    assertEquals(
+        List.of("card", "timeout"),
+        sorted(tagger.tag("Customer saw a CARD PAYMENT TIMEOUT on checkout"))
+    );
+  }
+
+  @Test
+  void tagFollowsFailureLinksIntoShorterKeywords() {
+    KeywordTagger tagger = KeywordTagger.build(Map.of(
+        "she", List.of("she"),
+        "he", List.of("he"),
+        "hers", List.of("hers")
+    ));
+
+    assertEquals(List.of("he", "hers", "she"), sorted(tagger.tag("she hers he")));
+  }
+
+  @Test
+  void tagIgnoresKeywordsInsideLongerWords() {
+    KeywordTagger tagger = KeywordTagger.build(Map.of(
+        "api", List.of("api"),
+        "error", List.of("ERR-42")
+    ));
+
+    assertEquals(List.of(), tagger.tag("rapid response, no ERR-421"));
+    assertEquals(List.of("api", "error"), sorted(tagger.tag("api returned err-42.")));
+  }
+
+  @Test
+  void parseReadsTagLinesAndSkipsComments() throws IOException {
+    KeywordTagger tagger = KeywordTagger.parse(new StringReader("""
+        # products
+        checkout = checkout page | cart
+
+        checkout = basket
+        kyc = identity check
+        """));
+
+    assertEquals(List.of("checkout", "kyc"), tagger.tags());
+    assertEquals(4, tagger.keywordCount());
+    assertEquals(List.of("checkout"), tagger.tag("Basket is empty"));
+  }
+
+  @Test
+  void keywordListedUnderSeveralTagsYieldsEachOfThem() throws IOException {
+    KeywordTagger tagger = KeywordTagger.parse(new StringReader("""
+        payments = chargeback | refund
+        disputes = Chargeback
+        """));
+
+    assertEquals(2, tagger.keywordCount());
+    assertEquals(List.of("payments", "disputes"), tagger.tag("Customer filed a chargeback"));
+    assertEquals(List.of("payments"), tagger.tag("refund pending"));
+  }
+
+  @Test
+  void parseRejectsLinesWithoutTag() {
+    IllegalArgumentException ex = assertThrows(
+        IllegalArgumentException.class,
+        () -> KeywordTagger.parse(new StringReader("just a keyword\n"))
+    );
+
+    assertTrue(ex.getMessage().contains("line 1"));
+  }
+
+  @Test
+  void emptyTaggerReturnsNoTags() {
+    assertTrue(KeywordTagger.empty().isEmpty());
+    assertEquals(List.of(), KeywordTagger.empty().tag("anything"));
+  }
+
+  private static List<String> sorted(List<String> tags) {
+    return tags.stream().sorted().toList();
+  }
+}
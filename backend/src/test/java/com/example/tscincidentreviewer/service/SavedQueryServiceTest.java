@@ -0,0 +1,89 @@
+package com.example.tscincidentreviewer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.tscincidentreviewer.dto.SavedQueryResult;
+import com.example.tscincidentreviewer.model.IncidentRow;
+import com.example.tscincidentreviewer.model.QueryFilters;
+import com.example.tscincidentreviewer.model.SavedQuery;
+import com.example.tscincidentreviewer.store.IncidentStore;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SavedQueryServiceTest {
+
+  private final IncidentStore store = new IncidentStore();
+  private final SavedQueryService service = new SavedQueryService(store);
+
+  @Test
+  void runMaterializesMatchesAndFacetsThenServesThemFromCache() {
+    store.save(List.of(
+        new IncidentRow("TSC-1", "Payments", "bug", "Card declined at checkout", List.of("card")),
+        new IncidentRow("TSC-2", "Payments", "ops", "card declined again", List.of("card")),
+        new IncidentRow("TSC-3", "", "bug", "Declined card, refund issued"),
+        new IncidentRow("TSC-4", "Billing", "bug", "invoice missing")
+    ));
+    service.save("declined bugs", new QueryFilters(
+        List.of("Payments", "(empty)"),
+        List.of("bug"),
+        null,
+        null,
+        "DECLINED"
+    ));
+
+    SavedQueryResult first = service.run("declined bugs", 0, 10);
+
+    assertFalse(first.cached());
+    assertEquals(2, first.total());
+    assertEquals(List.of("TSC-1", "TSC-3"), first.items().stream().map(IncidentRow::issueKey).toList());
+    assertEquals(2, first.facets().byIssueLinks().size());
+    assertEquals(2, first.facets().byLabel().get(0).count());
+    assertEquals("card", first.facets().byTag().get(0).name());
+    assertEquals(50.0, first.facets().byTag().get(0).percent());
+
+    SavedQueryResult second = service.run("declined bugs", 1, 10);
+
+    assertTrue(second.cached());
+    assertEquals(List.of("TSC-3"), second.items().stream().map(IncidentRow::issueKey).toList());
+  }
+
+  @Test
+  void runRecomputesAfterUploadReplacesDataset() {
+    store.save(List.of(new IncidentRow("TSC-1", "A", "bug", "timeout")));
+    service.save("timeouts", new QueryFilters(null, null, null, null, "timeout"));
+    assertEquals(1, service.run("timeouts", 0, 10).total());
+
+    store.save(List.of(
+        new IncidentRow("TSC-1", "A", "bug", "timeout"),
+        new IncidentRow("TSC-9", "B", "ops", "gateway timeout")
+    ));
+    SavedQueryResult refreshed = service.run("timeouts", 0, 10);
+
+    assertFalse(refreshed.cached());
+    assertEquals(2, refreshed.total());
+  }
+
+  @Test
+  void filtersDropNullElements() {
+    store.save(List.of(new IncidentRow("TSC-1", "A", "bug", "timeout")));
+    SavedQuery saved = service.save(
+        "with nulls",
+        new QueryFilters(Arrays.asList("A", null), Arrays.asList((String) null), null, null, null)
+    );
+
+    assertEquals(List.of("A"), saved.filters().issueLinks());
+    assertEquals(List.of(), saved.filters().labels());
+    assertEquals(1, service.run("with nulls", 0, 10).total());
+  }
+
+  @Test
+  void saveRejectsInvalidNamesAndUnknownQueriesFail() {
+    assertThrows(IllegalArgumentException.class, () -> service.save(" ", new QueryFilters(null, null, null, null, null)));
+    assertThrows(IllegalArgumentException.class, () -> service.save("a/b", new QueryFilters(null, null, null, null, null)));
+    assertThrows(IllegalArgumentException.class, () -> service.run("missing", 0, 10));
+  }
+}
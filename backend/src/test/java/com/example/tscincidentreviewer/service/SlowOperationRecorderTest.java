@@ -0,0 +1,82 @@
+package com.example.tscincidentreviewer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.tscincidentreviewer.model.DiagnosticRecording;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SlowOperationRecorderTest {
+
+  private Path directory;
+  private SlowOperationRecorder recorder;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    directory = Files.createTempDirectory("jfr-test-");
+    recorder = new SlowOperationRecorder();
+    recorder.setEnabled(true);
+    recorder.setThresholdMillis(100);
+    recorder.setMinDumpIntervalSeconds(0);
+    recorder.setMaxRecordings(1);
+    recorder.setDirectory(directory.toString());
+    recorder.setDumpExecutor(Runnable::run);
+    recorder.start();
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    recorder.stop();
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : files.toList()) {
+        Files.deleteIfExists(file);
+      }
+    }
+    Files.deleteIfExists(directory);
+  }
+
+  @Test
+  void slowOperationDumpsRingWithParseStageEvents() throws Exception {
+    String csv = "Issue key,Custom field (Issue Links),Labels,Comment\n"
+        + "TSC-1,PAY-1,bug,Card declined\n"
+        + "TSC-2,PAY-2,ops,Timeout\n";
+    new XlsxParseService().parse(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+    assertFalse(recorder.recordIfSlow("upload", TimeUnit.MILLISECONDS.toNanos(10)));
+    assertTrue(recorder.recordIfSlow("upload", TimeUnit.MILLISECONDS.toNanos(250)));
+
+    List<DiagnosticRecording> recordings = recorder.list();
+    assertEquals(1, recordings.size());
+    assertTrue(recordings.get(0).name().startsWith("slow-upload-"));
+    assertTrue(recordings.get(0).name().endsWith("-250ms.jfr"));
+
+    List<String> stages = RecordingFile.readAllEvents(recorder.resolve(recordings.get(0).name()).orElseThrow()).stream()
+        .filter(event -> event.getEventType().getName().equals("com.example.tscincidentreviewer.ParseStage"))
+        .filter(event -> "csv".equals(event.getString("format")))
+        .map(event -> event.getString("stage"))
+        .toList();
+    assertEquals(List.of("open", "rows", "finish"), stages);
+  }
+
+  @Test
+  void keepsOnlyNewestRecordingsAndRejectsInvalidNames() {
+    assertTrue(recorder.recordIfSlow("export-xlsx", TimeUnit.SECONDS.toNanos(1)));
+    assertTrue(recorder.recordIfSlow("export-arrow", TimeUnit.SECONDS.toNanos(2)));
+
+    assertEquals(1, recorder.list().size());
+    assertThrows(IllegalArgumentException.class, () -> recorder.resolve("../application.properties"));
+    assertTrue(recorder.resolve("missing.jfr").isEmpty());
+  }
+}
@@ -0,0 +1,72 @@
+package com.example.tscincidentreviewer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.tscincidentreviewer.model.DiffSummary;
+import com.example.tscincidentreviewer.model.IncidentRow;
+import com.example.tscincidentreviewer.store.IncidentDataset;
+import com.example.tscincidentreviewer.store.IncidentStore;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SnapshotDiffTest {
+
+  private final IncidentStore store = new IncidentStore();
+
+  @Test
+  void diffReportsAddedRemovedAndChangedRowsByIssueKey() throws Exception {
+    IncidentDataset before = store.save(List.of(
+        new IncidentRow("TSC-1", "A", "bug", "same"),
+        new IncidentRow("TSC-2", "A", "bug", "old comment"),
+        new IncidentRow("TSC-3", "B", "ops", "gone"),
+        new IncidentRow("", "", "", "keyless")
+    ));
+    IncidentDataset after = store.save(List.of(
+        new IncidentRow("TSC-4", "C", "bug", "new"),
+        new IncidentRow("TSC-2", "A", "ops", "new comment"),
+        new IncidentRow("TSC-1", "A", "bug", "same"),
+        new IncidentRow("", "", "", "keyless")
+    ));
+    List<String> events = new ArrayList<>();
+
+    DiffSummary summary = SnapshotDiff.diff(before, after, new SnapshotDiff.Listener() {
+      @Override
+      public void added(IncidentRow row) {
+        events.add("added " + row.issueKey());
+      }
+
+      @Override
+      public void removed(IncidentRow row) {
+        events.add("removed " + row.issueKey());
+      }
+
+      @Override
+      public void changed(IncidentRow previous, IncidentRow current, List<String> changedFields) {
+        events.add("changed " + current.issueKey() + " " + changedFields);
+      }
+    });
+
+    assertEquals(List.of("added TSC-4", "changed TSC-2 [label, comment]", "removed TSC-3"), events);
+    assertEquals(new DiffSummary(before.contentVersion(), after.contentVersion(), 1, 1, 1, 2), summary);
+  }
+
+  @Test
+  void summarizePairsRepeatedKeysInOrder() {
+    IncidentDataset before = store.save(List.of(
+        new IncidentRow("TSC-1", "A", "bug", "first"),
+        new IncidentRow("TSC-1", "A", "bug", "second")
+    ));
+    IncidentDataset after = store.save(List.of(
+        new IncidentRow("TSC-1", "A", "bug", "first"),
+        new IncidentRow("TSC-1", "A", "bug", "second"),
+        new IncidentRow("TSC-1", "A", "bug", "third")
+    ));
+
+    DiffSummary summary = SnapshotDiff.summarize(before, after);
+
+    assertEquals(1, summary.added());
+    assertEquals(0, summary.removed());
+    assertEquals(2, summary.unchanged());
+  }
+}
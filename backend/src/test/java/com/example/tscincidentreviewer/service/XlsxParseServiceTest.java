@@ -2,14 +2,21 @@ package com.example.tscincidentreviewer.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.example.tscincidentreviewer.dto.UploadResponse;
 import com.example.tscincidentreviewer.exception.MissingHeadersException;
 import com.example.tscincidentreviewer.model.IncidentRow;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.Test;
 
 class XlsxParseServiceTest {
@@ -243,4 +250,112 @@ class XlsxParseServiceTest {
 
     assertEquals("file has too many rows", ex.getMessage());
   }
+
+  @Test
+  void parseCsvSharesRepeatedLabelAndIssueLinksInstances() {
+    String csv = "\"Issue Key\",\"Custom Field (Issue Links)\",\"Label\",\"Comment\"\n"
+        + "\"TSC-1\",\"Payments\",\"bug\",\"c1\"\n"
+        + "\"TSC-2\",\"Payments\",\"bug\",\"c2\"\n";
+
+    UploadResponse response = service.parse(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+    assertEquals(2, response.items().size());
+    assertSame(response.items().get(0).issueLinks(), response.items().get(1).issueLinks());
+    assertSame(response.items().get(0).label(), response.items().get(1).label());
+  }
+
+  @Test
+  void parseCsvInSpillModeIgnoresRowLimitAndKeepsStats() {
+    XlsxParseService spillingService = new XlsxParseService(2);
+    spillingService.setSpillEnabled(true);
+    spillingService.setSpillThresholdRows(1);
+    String csv = "\"Issue Key\",\"Custom Field (Issue Links)\",\"Label\",\"Comment\"\n"
+        + "\"TSC-1\",\"A\",\"L1\",\"c1\"\n"
+        + "\"TSC-2\",\"A\",\"L2\",\"c2\"\n"
+        + "\"TSC-3\",\"B\",\"L2\",\"multi\nline\"\n";
+
+    UploadResponse response = spillingService.parse(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+    assertEquals(3, response.items().size());
+    assertEquals("TSC-3", response.items().get(2).issueKey());
+    assertEquals("multi\nline", response.items().get(2).comment());
+    assertEquals("A", response.stats().byIssueLinks().get(0).name());
+    assertEquals(2, response.stats().byIssueLinks().get(0).count());
+    assertEquals("L2", response.stats().byLabel().get(0).name());
+  }
+
+  @Test
+  void parseCsvAddsKeywordTagsToRowsAndStats() {
+    XlsxParseService taggingService = new XlsxParseService();
+    taggingService.setKeywordTagger(KeywordTagger.build(Map.of(
+        "payments", List.of("card payment", "refund"),
+        "auth", List.of("2fa")
+    )));
+    taggingService.setSpillEnabled(true);
+    taggingService.setSpillThresholdRows(1);
+    String csv = "\"Issue Key\",\"Custom Field (Issue Links)\",\"Label\",\"Comment\"\n"
+        + "\"TSC-1\",\"A\",\"L1\",\"Card payment failed, refund issued\"\n"
+        + "\"TSC-2\",\"A\",\"L1\",\"2FA code not received\"\n"
+        + "\"TSC-3\",\"A\",\"L1\",\"Refund pending\"\n"
+        + "\"TSC-4\",\"A\",\"L1\",\"nothing to see\"\n";
+
+    UploadResponse response = taggingService.parse(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+    assertEquals(List.of("payments"), response.items().get(0).tags());
+    assertEquals(List.of("auth"), response.items().get(1).tags());
+    assertEquals(List.of(), response.items().get(3).tags());
+    assertEquals("payments", response.stats().byTag().get(0).name());
+    assertEquals(2, response.stats().byTag().get(0).count());
+    assertEquals(50.0, response.stats().byTag().get(0).percent());
+    assertEquals(2, response.stats().byTag().size());
+  }
+
+  @Test
+  void parseCsvInSpillModeExceedingDiskBudgetThrows() {
+    XlsxParseService spillingService = new XlsxParseService();
+    spillingService.setSpillEnabled(true);
+    spillingService.setSpillThresholdRows(0);
+    spillingService.setMaxSpillBytes(16);
+    String csv = "\"Issue Key\",\"Custom Field (Issue Links)\",\"Label\",\"Comment\"\n"
+        + "\"TSC-1\",\"A\",\"L1\",\"a comment that does not fit into the budget\"\n";
+
+    IllegalArgumentException ex = assertThrows(
+        IllegalArgumentException.class,
+        () -> spillingService.parse(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)))
+    );
+
+    assertEquals("file exceeds upload disk budget", ex.getMessage());
+  }
+
+  @Test
+  void parseXlsxReadsStringNumericAndBlankCellsOfResolvedColumns() throws IOException {
+    byte[] xlsx;
+    try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+      Sheet sheet = workbook.createSheet("incidents");
+      Row header = sheet.createRow(0);
+      header.createCell(0).setCellValue("Issue Key");
+      header.createCell(1).setCellValue("Unused");
+      header.createCell(2).setCellValue("Custom Field (Issue Links)");
+      header.createCell(3).setCellValue("Label");
+      header.createCell(4).setCellValue("Comment");
+
+      Row row = sheet.createRow(1);
+      row.createCell(0).setCellValue("TSC-1");
+      row.createCell(1).setCellValue(99.5);
+      row.createCell(3).setCellValue(42);
+      row.createCell(4).setCellValue("  plain comment  ");
+
+      workbook.write(output);
+      xlsx = output.toByteArray();
+    }
+
+    UploadResponse response = service.parse(new ByteArrayInputStream(xlsx));
+
+    assertEquals(1, response.items().size());
+    IncidentRow row = response.items().get(0);
+    assertEquals("TSC-1", row.issueKey());
+    assertEquals("", row.issueLinks());
+    assertEquals("42", row.label());
+    assertEquals("plain comment", row.comment());
+  }
 }
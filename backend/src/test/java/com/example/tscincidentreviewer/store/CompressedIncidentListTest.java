@@ -0,0 +1,80 @@
+package com.example.tscincidentreviewer.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.tscincidentreviewer.model.HeapUsage;
+import com.example.tscincidentreviewer.model.IncidentRow;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CompressedIncidentListTest {
+
+  @Test
+  void compressedDatasetReturnsSameRowsByIndexAndIteration() {
+    List<IncidentRow> rows = new ArrayList<>();
+    for (int i = 0; i < 1_000; i++) {
+      rows.add(new IncidentRow(
+          "TSC-" + i,
+          i % 3 == 0 ? "Payments" : "Billing",
+          "bug",
+          i % 7 == 0 ? "" : "Kunde meldet Fehler äö beim Checkout, Schritt " + i,
+          i % 5 == 0 ? List.of("checkout") : List.of()
+      ));
+    }
+
+    IncidentDataset dataset = IncidentDataset.of(rows, 1, "v1", 64, 2);
+
+    assertInstanceOf(CompressedIncidentList.class, dataset.items());
+    assertEquals(rows, new ArrayList<>(dataset.items()));
+    assertEquals(rows.get(999), dataset.items().get(999));
+    assertEquals(rows.get(0), dataset.items().get(0));
+    assertEquals(rows.get(640), dataset.items().get(640));
+    assertSame(dataset.items().get(1).issueLinks(), dataset.items().get(2).issueLinks());
+  }
+
+  @Test
+  void iterationLeavesBlockCacheOrderUnchanged() {
+    List<IncidentRow> rows = new ArrayList<>();
+    for (int i = 0; i < 300; i++) {
+      rows.add(new IncidentRow("TSC-" + i, "Payments", "bug", "comment " + i));
+    }
+    CompressedIncidentList items = (CompressedIncidentList) IncidentDataset.of(rows, 1, "v1", 100, 2).items();
+
+    items.get(150);
+    items.get(50);
+    assertEquals(rows, new ArrayList<>(items));
+    assertEquals(List.of(1, 0), items.cachedBlockIndexes());
+
+    items.get(250);
+    assertEquals(List.of(0, 2), items.cachedBlockIndexes());
+  }
+
+  @Test
+  void heapUsageReportsCompressedCommentFootprint() {
+    List<IncidentRow> rows = new ArrayList<>();
+    for (int i = 0; i < 2_000; i++) {
+      rows.add(new IncidentRow("TSC-" + i, "Payments", "bug", "Timeout while calling the payment gateway, retry " + i % 10));
+    }
+
+    HeapUsage plain = IncidentDataset.of(rows, 1, "v1").heapUsage();
+    HeapUsage compressed = IncidentDataset.of(rows, 2, "v2", 256, 4).heapUsage();
+
+    assertEquals(0, plain.compressedCommentBytes());
+    assertEquals(plain.commentBytes(), compressed.commentBytes());
+    assertTrue(compressed.compressedCommentBytes() * 10 < compressed.commentBytes());
+    assertTrue(compressed.retainedBytes() < plain.retainedBytes());
+    assertEquals(plain.plainBytes(), compressed.plainBytes());
+  }
+
+  @Test
+  void emptyDatasetHasNoBlocks() {
+    IncidentDataset dataset = IncidentDataset.of(List.of(), 1, "v1", 256, 4);
+
+    assertEquals(0, dataset.size());
+    assertTrue(dataset.items().isEmpty());
+  }
+}
@@ -0,0 +1,125 @@
+package com.example.tscincidentreviewer.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.tscincidentreviewer.model.HeapUsage;
+import com.example.tscincidentreviewer.model.IncidentRow;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class IncidentStoreTest {
+
+  private final IncidentStore store = new IncidentStore();
+
+  @Test
+  void saveCanonicalizesRepeatedValuesAndReportsHeapSavings() {
+    List<IncidentRow> rows = new ArrayList<>();
+    for (int i = 0; i < 1_000; i++) {
+      rows.add(new IncidentRow(
+          "TSC-" + i,
+          new String("Payments, Billing"),
+          new String("bug, urgent"),
+          "comment " + i
+      ));
+    }
+
+    IncidentDataset dataset = store.save(rows);
+
+    assertSame(dataset.items().get(0).label(), dataset.items().get(999).label());
+    assertSame(dataset.items().get(0).issueLinks(), dataset.items().get(999).issueLinks());
+    assertEquals(dataset.labelCode(0), dataset.labelCode(999));
+
+    HeapUsage heapUsage = dataset.heapUsage();
+    assertEquals(1, heapUsage.distinctLabels());
+    assertEquals(1, heapUsage.distinctIssueLinks());
+    assertTrue(heapUsage.savedBytes() > 0);
+    assertEquals(heapUsage.plainBytes() - heapUsage.retainedBytes(), heapUsage.savedBytes());
+  }
+
+  @Test
+  void saveRetainsOnlyConfiguredNumberOfSnapshots() {
+    store.setRetainedSnapshots(2);
+    IncidentDataset first = store.save(List.of(new IncidentRow("TSC-1", "A", "bug", "one")));
+    IncidentDataset second = store.save(List.of(new IncidentRow("TSC-1", "A", "bug", "two")));
+    IncidentDataset third = store.save(List.of(new IncidentRow("TSC-1", "A", "bug", "three")));
+
+    assertEquals(List.of(third, second), store.getSnapshots());
+    assertTrue(store.getSnapshot(first.contentVersion()).isEmpty());
+    assertSame(second, store.getPrevious(third).orElseThrow());
+    assertSame(third, store.getLatest().orElseThrow());
+  }
+
+  @Test
+  void evictionReleasesSpilledRowFile() throws Exception {
+    store.setRetainedSnapshots(1);
+    IncidentRowBuffer buffer = IncidentRowBuffer.spilling(1, 1 << 20);
+    for (int i = 0; i < 10; i++) {
+      buffer.append(new IncidentRow("TSC-" + i, "A", "bug", "comment " + i));
+    }
+    IncidentDataset spilled = store.save(buffer.finish());
+    SpilledIncidentList items = assertInstanceOf(SpilledIncidentList.class, spilled.items());
+    assertEquals("TSC-9", items.get(9).issueKey());
+    assertTrue(items.isOpen());
+
+    store.save(List.of(new IncidentRow("TSC-1", "A", "bug", "next")));
+
+    assertFalse(items.isOpen());
+    assertThrows(IllegalStateException.class, () -> items.get(0));
+  }
+
+  @Test
+  void leasedSpilledDatasetStaysReadableWhileEvictedMidIteration() throws Exception {
+    store.setRetainedSnapshots(1);
+    IncidentRowBuffer buffer = IncidentRowBuffer.spilling(1, 1 << 20);
+    for (int i = 0; i < 300; i++) {
+      buffer.append(new IncidentRow("TSC-" + i, "A", "bug", "x".repeat(500)));
+    }
+    IncidentDataset leased = store.saveAndLease(buffer.finish());
+    SpilledIncidentList items = assertInstanceOf(SpilledIncidentList.class, leased.items());
+    Iterator<IncidentRow> rows = items.iterator();
+    for (int i = 0; i < 100; i++) {
+      rows.next();
+    }
+
+    store.save(List.of(new IncidentRow("TSC-1", "A", "bug", "next")));
+    store.save(List.of(new IncidentRow("TSC-1", "A", "bug", "after next")));
+    assertTrue(store.leaseSnapshot(leased.contentVersion()).isEmpty());
+
+    int remaining = 0;
+    while (rows.hasNext()) {
+      assertEquals("TSC-" + (100 + remaining), rows.next().issueKey());
+      remaining++;
+    }
+    assertEquals(200, remaining);
+    assertTrue(items.isOpen());
+
+    leased.release();
+
+    assertFalse(items.isOpen());
+  }
+
+  @Test
+  void nearDuplicateIndexIsBuiltOnFirstUseAndCountedInHeapUsage() {
+    List<IncidentRow> rows = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      rows.add(new IncidentRow("TSC-" + i, "A", "bug", "gateway timeout while settling transaction " + i % 3));
+    }
+    IncidentDataset dataset = store.save(rows);
+    HeapUsage beforeIndex = dataset.heapUsage();
+
+    assertEquals(0, beforeIndex.duplicateIndexBytes());
+    assertTrue(dataset.nearDuplicateIndex().groups(0.8, 10).size() > 0);
+
+    HeapUsage withIndex = dataset.heapUsage();
+    assertTrue(withIndex.duplicateIndexBytes() > 100 * 64 * 4);
+    assertEquals(beforeIndex.retainedBytes() + withIndex.duplicateIndexBytes(), withIndex.retainedBytes());
+    assertSame(dataset.nearDuplicateIndex(), dataset.nearDuplicateIndex());
+  }
+}
@@ -1,11 +1,13 @@
-import { useMemo, useState } from 'react';
-import { uploadIncidents } from './api/incidentsApi';
+import { useCallback, useEffect, useMemo, useState } from 'react';
+import { fetchDatasetInfo, uploadIncidents } from './api/incidentsApi';
 import AnalyticsPanel from './components/AnalyticsPanel';
 import FiltersPanel from './components/FiltersPanel';
 import IncidentsTable from './components/IncidentsTable';
 import UploadPanel from './components/UploadPanel';
-import type { IncidentRow } from './types/api';
-import { applyFilters, EMPTY_FILTERS, type FiltersState } from './utils/filters';
+import { useIncidentQuery } from './hooks/useIncidentQuery';
+import { listRowSource, usePagedRowSource } from './hooks/usePagedRowSource';
+import type { DatasetInfo, IncidentRow } from './types/api';
+import { EMPTY_FILTERS, type FiltersState } from './utils/filters';
 
 const EXPORT_FILENAME = 'tsc_report_normalized.xlsx';
 
@@ -19,9 +21,42 @@ export default function App() {
   const [downloadLoading, setDownloadLoading] = useState(false);
   const [uploadError, setUploadError] = useState<string | null>(null);
 
+  const [serverDataset, setServerDataset] = useState<DatasetInfo | null>(null);
+
   const [filters, setFilters] = useState<FiltersState>({ ...EMPTY_FILTERS });
 
-  const filteredItems = useMemo(() => applyFilters(items, filters), [items, filters]);
+  const query = useIncidentQuery(items, filters);
+  const { filteredItems } = query;
+  const listSource = useMemo(() => listRowSource(filteredItems), [filteredItems]);
+  const refreshServerDataset = useCallback(() => {
+    fetchDatasetInfo()
+      .then(setServerDataset)
+      .catch(() => {
+        // Keep the stale dataset info; the table stays empty until the next successful lookup.
+      });
+  }, []);
+  const pagedSource = usePagedRowSource(
+    serverDataset?.rowCount ?? 0,
+    hasUploaded ? null : serverDataset?.version ?? null,
+    refreshServerDataset
+  );
+  const rowSource = hasUploaded ? listSource : pagedSource;
+
+  useEffect(() => {
+    let cancelled = false;
+    fetchDatasetInfo()
+      .then((info) => {
+        if (!cancelled) {
+          setServerDataset(info);
+        }
+      })
+      .catch(() => {
+        // The table simply stays empty until something is uploaded.
+      });
+    return () => {
+      cancelled = true;
+    };
+  }, []);
 
   const handlePing = async () => {
     setPingLoading(true);
@@ -122,19 +157,28 @@ export default function App() {
           <button
             type="button"
             onClick={handleDownload}
-            disabled={!hasUploaded || downloadLoading}
+            disabled={(!hasUploaded && !serverDataset) || downloadLoading}
           >
             {downloadLoading ? 'Preparing XLSX...' : 'Download normalized XLSX'}
           </button>
         </div>
         {uploadError ? <p className="error">{uploadError}</p> : null}
-        {hasUploaded ? <p>Showing {filteredItems.length} of {items.length} incidents</p> : null}
+        {hasUploaded ? (
+          <p>
+            Showing {filteredItems.length} of {items.length} incidents
+            {query.pending ? <span className="muted"> (updating...)</span> : null}
+          </p>
+        ) : null}
+        {!hasUploaded && serverDataset ? (
+          <p>Showing {serverDataset.rowCount} stored incidents; upload a file to filter and chart them</p>
+        ) : null}
       </section>
 
       <section className="panel">
         <h2>Filters</h2>
         <FiltersPanel
-          items={items}
+          issueLinkOptions={query.issueLinkOptions}
+          labelOptions={query.labelOptions}
           filters={filters}
           onChange={setFilters}
           onClear={() => setFilters({ ...EMPTY_FILTERS })}
@@ -144,7 +188,9 @@ export default function App() {
       <section className="panel">
         <h2>Analytics</h2>
         <AnalyticsPanel
-          items={filteredItems}
+          total={filteredItems.length}
+          byIssueLinks={query.byIssueLinks}
+          byLabel={query.byLabel}
           onToggleIssueLink={toggleIssueLinkFilter}
           onToggleLabel={toggleLabelFilter}
         />
@@ -152,7 +198,7 @@ export default function App() {
 
       <section className="panel">
         <h2>Incidents</h2>
-        <IncidentsTable items={filteredItems} />
+        <IncidentsTable source={rowSource} />
       </section>
 
       <section className="panel">
@@ -1,4 +1,4 @@
-import type { UploadResponse } from '../types/api';
+import type { DatasetInfo, IncidentPage, UploadResponse } from '../types/api';
 
 export async function uploadIncidents(file: File): Promise<UploadResponse> {
   const formData = new FormData();
@@ -10,17 +10,45 @@ export async function uploadIncidents(file: File): Promise<UploadResponse> {
   });
 
   if (!response.ok) {
-    let message = 'Upload failed';
-    try {
-      const payload = (await response.json()) as { message?: string };
-      if (payload.message && payload.message.trim()) {
-        message = payload.message;
-      }
-    } catch {
-      // Keep fallback message when response is not JSON.
-    }
-    throw new Error(message);
+    throw new Error(await readErrorMessage(response, 'Upload failed'));
   }
 
   return response.json() as Promise<UploadResponse>;
 }
+
+export async function fetchDatasetInfo(): Promise<DatasetInfo | null> {
+  const response = await fetch('/api/incidents/dataset');
+  if (response.status === 400) {
+    return null;
+  }
+  if (!response.ok) {
+    throw new Error(await readErrorMessage(response, 'Dataset lookup failed'));
+  }
+
+  return response.json() as Promise<DatasetInfo>;
+}
+
+export async function fetchIncidentPage(
+  offset: number,
+  limit: number,
+  signal?: AbortSignal
+): Promise<IncidentPage> {
+  const response = await fetch(`/api/incidents/items?offset=${offset}&limit=${limit}`, { signal });
+  if (!response.ok) {
+    throw new Error(await readErrorMessage(response, 'Loading incidents failed'));
+  }
+
+  return response.json() as Promise<IncidentPage>;
+}
+
+async function readErrorMessage(response: Response, fallback: string): Promise<string> {
+  try {
+    const payload = (await response.json()) as { message?: string };
+    if (payload.message && payload.message.trim()) {
+      return payload.message;
+    }
+  } catch {
+    // Keep fallback message when response is not JSON.
+  }
+  return fallback;
+}
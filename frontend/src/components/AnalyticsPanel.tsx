@@ -5,8 +5,7 @@ import {
   ResponsiveContainer,
   Tooltip
 } from 'recharts';
-import type { IncidentRow } from '../types/api';
-import { buildDistribution, groupTopN, type DistributionRow } from '../utils/analytics';
+import { groupTopN, type DistributionRow } from '../utils/analytics';
 
 const COLORS = [
   '#0B57D0',
@@ -21,7 +20,9 @@ const COLORS = [
 ];
 
 type AnalyticsPanelProps = {
-  items: IncidentRow[];
+  total: number;
+  byIssueLinks: DistributionRow[];
+  byLabel: DistributionRow[];
   onToggleIssueLink: (value: string) => void;
   onToggleLabel: (value: string) => void;
 };
@@ -31,24 +32,23 @@ type SlicePayload = {
 };
 
 export default function AnalyticsPanel({
-  items,
+  total,
+  byIssueLinks,
+  byLabel,
   onToggleIssueLink,
   onToggleLabel
 }: AnalyticsPanelProps) {
-  if (items.length === 0) {
+  if (total === 0) {
     return <p>Upload a file to see analytics.</p>;
   }
 
-  const byIssueLinks = buildDistribution(items, (item) => item.issueLinks);
-  const byLabel = buildDistribution(items, (item) => item.label);
-
   const issueLinksChart = groupTopN(byIssueLinks, 8);
   const labelChart = groupTopN(byLabel, 8);
 
   return (
     <div className="analytics-panel">
       <p>
-        Total items: <strong>{items.length}</strong> | Unique issueLinks: <strong>{byIssueLinks.length}</strong> |
+        Total items: <strong>{total}</strong> | Unique issueLinks: <strong>{byIssueLinks.length}</strong> |
         {' '}Unique labels: <strong>{byLabel.length}</strong>
       </p>
 
@@ -1,24 +1,22 @@
-import { buildDistribution } from '../utils/analytics';
-import type { IncidentRow } from '../types/api';
+import type { DistributionRow } from '../utils/analytics';
 import type { FiltersState } from '../utils/filters';
-import { EMPTY_FILTER_VALUE, toFilterValue } from '../utils/filters';
+import { EMPTY_FILTER_VALUE } from '../utils/filters';
 
 type FiltersPanelProps = {
-  items: IncidentRow[];
+  issueLinkOptions: DistributionRow[];
+  labelOptions: DistributionRow[];
   filters: FiltersState;
   onChange: (nextFilters: FiltersState) => void;
   onClear: () => void;
 };
 
-type OptionRow = {
-  name: string;
-  count: number;
-};
-
-export default function FiltersPanel({ items, filters, onChange, onClear }: FiltersPanelProps) {
-  const issueLinkOptions = toOptions(items, (item) => toFilterValue(item.issueLinks));
-  const labelOptions = toOptions(items, (item) => toFilterValue(item.label));
-
+export default function FiltersPanel({
+  issueLinkOptions,
+  labelOptions,
+  filters,
+  onChange,
+  onClear
+}: FiltersPanelProps) {
   const hasActiveFilters =
     filters.selectedIssueLinks.length > 0
     || filters.selectedLabels.length > 0
@@ -111,13 +109,6 @@ export default function FiltersPanel({ items, filters, onChange, onClear }: Filt
   );
 }
 
-function toOptions(items: IncidentRow[], selector: (item: IncidentRow) => string): OptionRow[] {
-  return buildDistribution(items, selector).map((row) => ({
-    name: row.name,
-    count: row.count
-  }));
-}
-
 function toggleSelection(values: string[], value: string): string[] {
   if (values.includes(value)) {
     return values.filter((entry) => entry !== value);
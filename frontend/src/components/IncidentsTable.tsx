@@ -1,50 +1,105 @@
-import type { IncidentRow } from '../types/api';
+import { useEffect, useRef, type ReactElement } from 'react';
+import { useVirtualRows } from '../hooks/useVirtualRows';
+import type { RowSource } from '../hooks/usePagedRowSource';
 
 const JIRA_BASE = 'https://bitpace.atlassian.net/jira/servicedesk/projects/TSC/queues/custom/189/';
+const ESTIMATED_ROW_HEIGHT = 42;
+const COLUMN_COUNT = 4;
 
 type IncidentsTableProps = {
-  items: IncidentRow[];
+  source: RowSource;
 };
 
-export default function IncidentsTable({ items }: IncidentsTableProps) {
-  if (items.length === 0) {
-    return <p>No incidents to display.</p>;
+export default function IncidentsTable({ source }: IncidentsTableProps) {
+  const scrollRef = useRef<HTMLDivElement>(null);
+  const { start, end, paddingTop, paddingBottom, measureElement } = useVirtualRows(scrollRef, {
+    count: source.count,
+    estimatedRowHeight: ESTIMATED_ROW_HEIGHT,
+    resetKey: source.key
+  });
+
+  const { requestRange } = source;
+  useEffect(() => {
+    requestRange?.(start, end);
+  }, [requestRange, start, end]);
+
+  useEffect(() => {
+    if (scrollRef.current) {
+      scrollRef.current.scrollTop = 0;
+    }
+  }, [source.key]);
+
+  const rows: ReactElement[] = [];
+  for (let index = start; index < end; index += 1) {
+    const item = source.getRow(index);
+    rows.push(item ? (
+      <tr key={index} data-index={index} ref={measureElement}>
+        <td>
+          {item.issueKey ? (
+            <a
+              href={`${JIRA_BASE}${encodeURIComponent(item.issueKey)}`}
+              target="_blank"
+              rel="noreferrer"
+            >
+              {item.issueKey}
+            </a>
+          ) : (
+            ''
+          )}
+        </td>
+        <td>{item.issueLinks}</td>
+        <td>
+          {item.label}
+          {item.tags && item.tags.length > 0 ? (
+            <div className="row-tags">{item.tags.join(', ')}</div>
+          ) : null}
+        </td>
+        <td>{item.comment}</td>
+      </tr>
+    ) : (
+      <tr key={index} data-index={index} ref={measureElement} className="row-placeholder">
+        <td colSpan={COLUMN_COUNT}>Loading...</td>
+      </tr>
+    ));
   }
 
+  // The scroll container stays mounted while the table is empty so that the scroll listener and
+  // resize observer attached to it on mount keep working once rows arrive.
   return (
-    <div className="table-wrapper">
-      <table>
-        <thead>
-          <tr>
-            <th>Issue Key</th>
-            <th>Custom Field (Issue Links)</th>
-            <th>Label</th>
-            <th>Comment</th>
-          </tr>
-        </thead>
-        <tbody>
-          {items.map((item, index) => (
-            <tr key={`${item.issueKey}-${index}`}>
-              <td>
-                {item.issueKey ? (
-                  <a
-                    href={`${JIRA_BASE}${encodeURIComponent(item.issueKey)}`}
-                    target="_blank"
-                    rel="noreferrer"
-                  >
-                    {item.issueKey}
-                  </a>
-                ) : (
-                  ''
-                )}
-              </td>
-              <td>{item.issueLinks}</td>
-              <td>{item.label}</td>
-              <td>{item.comment}</td>
+    <div className="table-wrapper table-scroll" ref={scrollRef}>
+      {source.count === 0 ? (
+        <p className="table-empty">No incidents to display.</p>
+      ) : (
+        <table className="virtual-table">
+          <colgroup>
+            <col style={{ width: '14%' }} />
+            <col style={{ width: '22%' }} />
+            <col style={{ width: '16%' }} />
+            <col style={{ width: '48%' }} />
+          </colgroup>
+          <thead>
+            <tr>
+              <th>Issue Key</th>
+              <th>Custom Field (Issue Links)</th>
+              <th>Label</th>
+              <th>Comment</th>
             </tr>
-          ))}
-        </tbody>
-      </table>
+          </thead>
+          <tbody>
+            {paddingTop > 0 ? (
+              <tr className="spacer-row" aria-hidden="true">
+                <td colSpan={COLUMN_COUNT} style={{ height: paddingTop }} />
+              </tr>
+            ) : null}
+            {rows}
+            {paddingBottom > 0 ? (
+              <tr className="spacer-row" aria-hidden="true">
+                <td colSpan={COLUMN_COUNT} style={{ height: paddingBottom }} />
+              </tr>
+            ) : null}
+          </tbody>
+        </table>
+      )}
     </div>
   );
 }
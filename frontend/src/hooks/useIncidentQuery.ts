@@ -0,0 +1,123 @@
+import { useEffect, useRef, useState } from 'react';
+import type { IncidentRow } from '../types/api';
+import type { DistributionRow } from '../utils/analytics';
+import type { FiltersState } from '../utils/filters';
+import type { QueryWorkerRequest, QueryWorkerResponse } from '../workers/incidentQueryProtocol';
+
+const SEARCH_DEBOUNCE_MS = 150;
+
+export type IncidentQueryState = {
+  filteredItems: IncidentRow[];
+  issueLinkOptions: DistributionRow[];
+  labelOptions: DistributionRow[];
+  byIssueLinks: DistributionRow[];
+  byLabel: DistributionRow[];
+  pending: boolean;
+};
+
+const EMPTY_STATE: IncidentQueryState = {
+  filteredItems: [],
+  issueLinkOptions: [],
+  labelOptions: [],
+  byIssueLinks: [],
+  byLabel: [],
+  pending: false
+};
+
+/**
+ * Filters the uploaded items and builds the chart/filter distributions in a Web Worker. Typing in
+ * the search boxes is debounced, and results of superseded requests are dropped on both sides.
+ */
+export function useIncidentQuery(items: IncidentRow[], filters: FiltersState): IncidentQueryState {
+  const workerRef = useRef<Worker | null>(null);
+  const itemsRef = useRef(items);
+  const datasetIdRef = useRef(0);
+  const requestIdRef = useRef(0);
+  const lastSentRef = useRef<{ items: IncidentRow[]; filters: FiltersState } | null>(null);
+  const [state, setState] = useState<IncidentQueryState>(EMPTY_STATE);
+
+  useEffect(() => {
+    const worker = new Worker(new URL('../workers/incidentQuery.worker.ts', import.meta.url), {
+      type: 'module'
+    });
+    worker.addEventListener('message', (event: MessageEvent<QueryWorkerResponse>) => {
+      const result = event.data;
+      if (result.datasetId !== datasetIdRef.current || result.requestId !== requestIdRef.current) {
+        return;
+      }
+
+      const source = itemsRef.current;
+      const filteredItems = new Array<IncidentRow>(result.indexes.length);
+      for (let i = 0; i < result.indexes.length; i += 1) {
+        filteredItems[i] = source[result.indexes[i]];
+      }
+      setState({
+        filteredItems,
+        issueLinkOptions: result.issueLinkOptions,
+        labelOptions: result.labelOptions,
+        byIssueLinks: result.byIssueLinks,
+        byLabel: result.byLabel,
+        pending: false
+      });
+    });
+    workerRef.current = worker;
+
+    return () => {
+      worker.terminate();
+      workerRef.current = null;
+      lastSentRef.current = null;
+    };
+  }, []);
+
+  useEffect(() => {
+    datasetIdRef.current += 1;
+    itemsRef.current = items;
+    if (items.length > 0) {
+      post(workerRef.current, { type: 'load', datasetId: datasetIdRef.current, items });
+    }
+  }, [items]);
+
+  useEffect(() => {
+    const worker = workerRef.current;
+    if (!worker) {
+      return undefined;
+    }
+    if (items.length === 0) {
+      requestIdRef.current += 1;
+      lastSentRef.current = null;
+      setState(EMPTY_STATE);
+      return undefined;
+    }
+
+    const send = () => {
+      requestIdRef.current += 1;
+      lastSentRef.current = { items, filters };
+      post(worker, {
+        type: 'query',
+        datasetId: datasetIdRef.current,
+        requestId: requestIdRef.current,
+        filters
+      });
+    };
+
+    setState((prev) => (prev.pending ? prev : { ...prev, pending: true }));
+    const last = lastSentRef.current;
+    const searchOnly = last !== null
+      && last.items === items
+      && last.filters.selectedIssueLinks === filters.selectedIssueLinks
+      && last.filters.selectedLabels === filters.selectedLabels;
+    if (!searchOnly) {
+      send();
+      return undefined;
+    }
+
+    const timer = setTimeout(send, SEARCH_DEBOUNCE_MS);
+    return () => clearTimeout(timer);
+  }, [items, filters]);
+
+  return state;
+}
+
+function post(worker: Worker | null, message: QueryWorkerRequest) {
+  worker?.postMessage(message);
+}
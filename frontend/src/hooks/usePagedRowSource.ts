@@ -0,0 +1,110 @@
+import { useCallback, useEffect, useMemo, useRef, useState } from 'react';
+import { fetchIncidentPage } from '../api/incidentsApi';
+import type { IncidentRow } from '../types/api';
+
+export type RowSource = {
+  key: string;
+  count: number;
+  getRow: (index: number) => IncidentRow | undefined;
+  requestRange?: (start: number, end: number) => void;
+  loadedPages?: number;
+};
+
+let listSourceCounter = 0;
+
+export function listRowSource(items: IncidentRow[]): RowSource {
+  listSourceCounter += 1;
+  return {
+    key: `list-${listSourceCounter}`,
+    count: items.length,
+    getRow: (index) => items[index]
+  };
+}
+
+const MAX_CACHED_PAGES = 50;
+
+/**
+ * Rows of the stored server dataset, fetched page by page as the table scrolls. Pages are kept in
+ * a small cache so scrolling back does not refetch, and everything is dropped on a new version.
+ * When a page comes back from a newer upload the row count drops to zero and onStale is called
+ * once, so the caller can fetch the dataset info again and pass in the new version and total.
+ */
+export function usePagedRowSource(
+  total: number,
+  version: string | null,
+  onStale: () => void,
+  pageSize = 200
+): RowSource {
+  const pagesRef = useRef(new Map<number, IncidentRow[]>());
+  const pendingRef = useRef(new Map<number, AbortController>());
+  const [loadedPages, setLoadedPages] = useState(0);
+  const staleVersionRef = useRef<string | null>(null);
+  const [staleVersion, setStaleVersion] = useState<string | null>(null);
+  const stale = version !== null && version === staleVersion;
+
+  useEffect(() => {
+    const pages = pagesRef.current;
+    const pending = pendingRef.current;
+    return () => {
+      pending.forEach((controller) => controller.abort());
+      pending.clear();
+      pages.clear();
+    };
+  }, [version]);
+
+  const requestRange = useCallback((start: number, end: number) => {
+    if (!version || stale || end <= start) {
+      return;
+    }
+
+    const firstPage = Math.floor(start / pageSize);
+    const lastPage = Math.floor((Math.min(end, total) - 1) / pageSize);
+    for (let page = firstPage; page <= lastPage; page += 1) {
+      if (pagesRef.current.has(page) || pendingRef.current.has(page)) {
+        continue;
+      }
+
+      const controller = new AbortController();
+      pendingRef.current.set(page, controller);
+      fetchIncidentPage(page * pageSize, pageSize, controller.signal)
+        .then((result) => {
+          if (result.version !== version) {
+            if (staleVersionRef.current !== version) {
+              staleVersionRef.current = version;
+              setStaleVersion(version);
+              onStale();
+            }
+            return;
+          }
+          const pages = pagesRef.current;
+          pages.set(page, result.items);
+          if (pages.size > MAX_CACHED_PAGES) {
+            const oldest = pages.keys().next().value;
+            if (oldest !== undefined && oldest !== page) {
+              pages.delete(oldest);
+            }
+          }
+          setLoadedPages((count) => count + 1);
+        })
+        .catch(() => {
+          // Leave the page unloaded; it is requested again when it scrolls back into view.
+        })
+        .finally(() => {
+          if (pendingRef.current.get(page) === controller) {
+            pendingRef.current.delete(page);
+          }
+        });
+    }
+  }, [version, stale, total, pageSize, onStale]);
+
+  return useMemo<RowSource>(() => ({
+    key: `server-${version ?? 'none'}`,
+    count: version && !stale ? total : 0,
+    getRow: (index) => {
+      const page = pagesRef.current.get(Math.floor(index / pageSize));
+      return page ? page[index % pageSize] : undefined;
+    },
+    requestRange,
+    loadedPages
+  }), [version, stale, total, pageSize, requestRange, loadedPages]);
+}
@@ -0,0 +1,144 @@
+import { useCallback, useEffect, useLayoutEffect, useRef, useState, type RefObject } from 'react';
+import { RowHeightIndex } from '../utils/rowHeights';
+
+type VirtualRowsOptions = {
+  count: number;
+  estimatedRowHeight: number;
+  overscan?: number;
+  resetKey?: unknown;
+};
+
+export type VirtualRows = {
+  start: number;
+  end: number;
+  paddingTop: number;
+  paddingBottom: number;
+  measureElement: (element: HTMLElement | null) => void;
+};
+
+export function useVirtualRows(
+  containerRef: RefObject<HTMLElement>,
+  { count, estimatedRowHeight, overscan = 8, resetKey }: VirtualRowsOptions
+): VirtualRows {
+  const indexRef = useRef<RowHeightIndex | null>(null);
+  const resetKeyRef = useRef<unknown>(resetKey);
+  const observedRef = useRef(new Set<HTMLElement>());
+  const observerRef = useRef<ResizeObserver | null>(null);
+  const frameRef = useRef<number | null>(null);
+
+  const [viewport, setViewport] = useState({ scrollTop: 0, height: 0 });
+  const [, setLayoutVersion] = useState(0);
+
+  if (!indexRef.current || indexRef.current.count !== count || resetKeyRef.current !== resetKey) {
+    indexRef.current = new RowHeightIndex(count, estimatedRowHeight);
+    resetKeyRef.current = resetKey;
+  }
+  const index = indexRef.current;
+
+  const scheduleUpdate = useCallback(() => {
+    if (frameRef.current !== null) {
+      return;
+    }
+    frameRef.current = requestAnimationFrame(() => {
+      frameRef.current = null;
+      const container = containerRef.current;
+      if (container) {
+        setViewport((prev) => (
+          prev.scrollTop === container.scrollTop && prev.height === container.clientHeight
+            ? prev
+            : { scrollTop: container.scrollTop, height: container.clientHeight }
+        ));
+      }
+      setLayoutVersion((version) => version + 1);
+    });
+  }, [containerRef]);
+
+  useEffect(() => {
+    const container = containerRef.current;
+    if (!container) {
+      return undefined;
+    }
+
+    const containerObserver = new ResizeObserver(scheduleUpdate);
+    containerObserver.observe(container);
+    container.addEventListener('scroll', scheduleUpdate, { passive: true });
+    scheduleUpdate();
+
+    return () => {
+      containerObserver.disconnect();
+      container.removeEventListener('scroll', scheduleUpdate);
+      if (frameRef.current !== null) {
+        cancelAnimationFrame(frameRef.current);
+        frameRef.current = null;
+      }
+    };
+  }, [containerRef, scheduleUpdate]);
+
+  useEffect(() => {
+    const rowObserver = new ResizeObserver((entries) => {
+      let changed = false;
+      for (const entry of entries) {
+        const element = entry.target as HTMLElement;
+        const rowIndex = Number(element.dataset.index);
+        if (!Number.isNaN(rowIndex) && indexRef.current) {
+          changed = indexRef.current.set(rowIndex, element.getBoundingClientRect().height) || changed;
+        }
+      }
+      if (changed) {
+        scheduleUpdate();
+      }
+    });
+    observerRef.current = rowObserver;
+    const observed = observedRef.current;
+    observed.forEach((element) => rowObserver.observe(element));
+
+    return () => {
+      rowObserver.disconnect();
+      observed.clear();
+      observerRef.current = null;
+    };
+  }, [scheduleUpdate]);
+
+  useLayoutEffect(() => {
+    const observer = observerRef.current;
+    let changed = false;
+    observedRef.current.forEach((element) => {
+      if (!element.isConnected) {
+        observer?.unobserve(element);
+        observedRef.current.delete(element);
+        return;
+      }
+      const rowIndex = Number(element.dataset.index);
+      if (!Number.isNaN(rowIndex)) {
+        changed = index.set(rowIndex, element.getBoundingClientRect().height) || changed;
+      }
+    });
+    if (changed) {
+      scheduleUpdate();
+    }
+  });
+
+  const measureElement = useCallback((element: HTMLElement | null) => {
+    if (!element || observedRef.current.has(element)) {
+      return;
+    }
+    observedRef.current.add(element);
+    observerRef.current?.observe(element);
+  }, []);
+
+  if (count === 0) {
+    return { start: 0, end: 0, paddingTop: 0, paddingBottom: 0, measureElement };
+  }
+
+  const viewportHeight = viewport.height || estimatedRowHeight * 20;
+  const start = Math.max(0, index.indexAt(viewport.scrollTop) - overscan);
+  const end = Math.min(count, index.indexAt(viewport.scrollTop + viewportHeight) + overscan + 1);
+
+  return {
+    start,
+    end,
+    paddingTop: index.offsetOf(start),
+    paddingBottom: Math.max(0, index.totalHeight() - index.offsetOf(end)),
+    measureElement
+  };
+}
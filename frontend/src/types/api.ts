@@ -3,9 +3,35 @@ export type IncidentRow = {
   issueLinks: string;
   label: string;
   comment: string;
+  tags?: string[];
 };
 
 export type UploadResponse = {
   items: IncidentRow[];
   stats: unknown;
 };
+
+export type HeapUsage = {
+  distinctIssueLinks: number;
+  distinctLabels: number;
+  plainBytes: number;
+  retainedBytes: number;
+  savedBytes: number;
+  spilledBytes: number;
+  commentBytes: number;
+  compressedCommentBytes: number;
+  duplicateIndexBytes: number;
+};
+
+export type DatasetInfo = {
+  version: string;
+  rowCount: number;
+  heapUsage: HeapUsage;
+};
+
+export type IncidentPage = {
+  version: string;
+  total: number;
+  offset: number;
+  items: IncidentRow[];
+};
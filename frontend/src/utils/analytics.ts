@@ -1,42 +1,21 @@
-import type { IncidentRow } from '../types/api';
-
 export type DistributionRow = {
   name: string;
   count: number;
   percent: number;
 };
 
-const EMPTY_NAME = '(empty)';
-
-export function buildDistribution(
-  items: IncidentRow[],
-  keySelector: (item: IncidentRow) => string
+export function toDistribution(
+  names: string[],
+  counts: ArrayLike<number>,
+  total: number
 ): DistributionRow[] {
-  if (items.length === 0) {
-    return [];
-  }
-
-  const counts = new Map<string, number>();
-  for (const item of items) {
-    const raw = keySelector(item);
-    const name = raw && raw.trim() ? raw.trim() : EMPTY_NAME;
-    counts.set(name, (counts.get(name) ?? 0) + 1);
+  const entries: [string, number][] = [];
+  for (let code = 0; code < names.length; code += 1) {
+    if (counts[code] > 0) {
+      entries.push([names[code], counts[code]]);
+    }
   }
-
-  const total = items.length;
-  return Array.from(counts.entries())
-    .sort((a, b) => {
-      const countDiff = b[1] - a[1];
-      if (countDiff !== 0) {
-        return countDiff;
-      }
-      return a[0].localeCompare(b[0]);
-    })
-    .map(([name, count]) => ({
-      name,
-      count,
-      percent: roundToOneDecimal((count / total) * 100)
-    }));
+  return sortDistribution(entries, total);
 }
 
 export function groupTopN(distribution: DistributionRow[], topN: number): DistributionRow[] {
@@ -58,6 +37,22 @@ export function groupTopN(distribution: DistributionRow[], topN: number): Distri
   ];
 }
 
+function sortDistribution(entries: [string, number][], total: number): DistributionRow[] {
+  return entries
+    .sort((a, b) => {
+      const countDiff = b[1] - a[1];
+      if (countDiff !== 0) {
+        return countDiff;
+      }
+      return a[0].localeCompare(b[0]);
+    })
+    .map(([name, count]) => ({
+      name,
+      count,
+      percent: roundToOneDecimal((count / total) * 100)
+    }));
+}
+
 function roundToOneDecimal(value: number): number {
   return Math.round(value * 10) / 10;
 }
@@ -0,0 +1,75 @@
+/**
+ * Row heights with prefix sums in a Fenwick tree, so a single measured height can be updated and
+ * the row at a scroll offset found in O(log n) even for tens of thousands of rows.
+ */
+export class RowHeightIndex {
+  readonly count: number;
+  private readonly heights: Float64Array;
+  private readonly tree: Float64Array;
+
+  constructor(count: number, estimatedHeight: number) {
+    this.count = count;
+    this.heights = new Float64Array(count).fill(estimatedHeight);
+    this.tree = new Float64Array(count + 1);
+
+    for (let i = 1; i <= count; i += 1) {
+      this.tree[i] += estimatedHeight;
+      const parent = i + (i & -i);
+      if (parent <= count) {
+        this.tree[parent] += this.tree[i];
+      }
+    }
+  }
+
+  set(index: number, height: number): boolean {
+    if (index < 0 || index >= this.count) {
+      return false;
+    }
+
+    const delta = height - this.heights[index];
+    if (Math.abs(delta) < 0.5) {
+      return false;
+    }
+
+    this.heights[index] = height;
+    for (let i = index + 1; i <= this.count; i += i & -i) {
+      this.tree[i] += delta;
+    }
+    return true;
+  }
+
+  offsetOf(index: number): number {
+    let sum = 0;
+    for (let i = Math.min(index, this.count); i > 0; i -= i & -i) {
+      sum += this.tree[i];
+    }
+    return sum;
+  }
+
+  totalHeight(): number {
+    return this.offsetOf(this.count);
+  }
+
+  indexAt(offset: number): number {
+    if (this.count === 0 || offset <= 0) {
+      return 0;
+    }
+
+    let position = 0;
+    let remaining = offset;
+    let step = 1;
+    while (step * 2 <= this.count) {
+      step *= 2;
+    }
+
+    for (; step > 0; step = Math.floor(step / 2)) {
+      const next = position + step;
+      if (next <= this.count && this.tree[next] <= remaining) {
+        position = next;
+        remaining -= this.tree[next];
+      }
+    }
+
+    return Math.min(position, this.count - 1);
+  }
+}
@@ -0,0 +1,208 @@
+import type { IncidentRow } from '../types/api';
+import { toDistribution, type DistributionRow } from '../utils/analytics';
+import { normalize, toFilterValue, type FiltersState } from '../utils/filters';
+import type { QueryWorkerRequest, QueryWorkerResponse } from './incidentQueryProtocol';
+
+const SLICE_ROWS = 20_000;
+
+type Dictionary = {
+  values: string[];
+  codes: Map<string, number>;
+};
+
+type SearchIndex = {
+  datasetId: number;
+  size: number;
+  issueKeys: string[];
+  comments: string[];
+  issueLinkCodes: Int32Array;
+  labelCodes: Int32Array;
+  issueLinks: Dictionary;
+  labels: Dictionary;
+  issueLinkOptions: DistributionRow[];
+  labelOptions: DistributionRow[];
+};
+
+type LastResult = {
+  selectionKey: string;
+  issueKeyQuery: string;
+  commentQuery: string;
+  indexes: Int32Array;
+};
+
+let index: SearchIndex | null = null;
+let lastResult: LastResult | null = null;
+let latestRequestId = 0;
+
+self.addEventListener('message', (event: MessageEvent<QueryWorkerRequest>) => {
+  const message = event.data;
+  if (message.type === 'load') {
+    index = buildIndex(message.datasetId, message.items);
+    lastResult = null;
+    return;
+  }
+
+  latestRequestId = Math.max(latestRequestId, message.requestId);
+  void runQuery(message.datasetId, message.requestId, message.filters);
+});
+
+function buildIndex(datasetId: number, items: IncidentRow[]): SearchIndex {
+  const size = items.length;
+  const issueKeys = new Array<string>(size);
+  const comments = new Array<string>(size);
+  const issueLinkCodes = new Int32Array(size);
+  const labelCodes = new Int32Array(size);
+  const issueLinks: Dictionary = { values: [], codes: new Map() };
+  const labels: Dictionary = { values: [], codes: new Map() };
+
+  for (let i = 0; i < size; i += 1) {
+    const item = items[i];
+    issueKeys[i] = item.issueKey.toLowerCase();
+    comments[i] = item.comment.toLowerCase();
+    issueLinkCodes[i] = codeOf(issueLinks, toFilterValue(item.issueLinks));
+    labelCodes[i] = codeOf(labels, toFilterValue(item.label));
+  }
+
+  return {
+    datasetId,
+    size,
+    issueKeys,
+    comments,
+    issueLinkCodes,
+    labelCodes,
+    issueLinks,
+    labels,
+    issueLinkOptions: toDistribution(issueLinks.values, countCodes(issueLinkCodes, null, issueLinks.values.length), size),
+    labelOptions: toDistribution(labels.values, countCodes(labelCodes, null, labels.values.length), size)
+  };
+}
+
+async function runQuery(datasetId: number, requestId: number, filters: FiltersState) {
+  const current = index;
+  if (!current || current.datasetId !== datasetId) {
+    return;
+  }
+
+  const issueLinkSelection = toSelection(current.issueLinks, filters.selectedIssueLinks);
+  const labelSelection = toSelection(current.labels, filters.selectedLabels);
+  const issueKeyQuery = normalize(filters.issueKeyQuery);
+  const commentQuery = normalize(filters.commentQuery);
+  const selectionKey = `${filters.selectedIssueLinks.join('\u0000')}\u0001${filters.selectedLabels.join('\u0000')}`;
+
+  const candidates = narrowableCandidates(selectionKey, issueKeyQuery, commentQuery);
+  const candidateCount = candidates ? candidates.length : current.size;
+  const matches = new Int32Array(candidateCount);
+  let matchCount = 0;
+
+  for (let start = 0; start < candidateCount; start += SLICE_ROWS) {
+    if (start > 0) {
+      await yieldToEvents();
+      if (requestId !== latestRequestId || index !== current) {
+        return;
+      }
+    }
+
+    const end = Math.min(candidateCount, start + SLICE_ROWS);
+    for (let position = start; position < end; position += 1) {
+      const row = candidates ? candidates[position] : position;
+      if (issueLinkSelection && !issueLinkSelection.has(current.issueLinkCodes[row])) {
+        continue;
+      }
+      if (labelSelection && !labelSelection.has(current.labelCodes[row])) {
+        continue;
+      }
+      if (issueKeyQuery && !current.issueKeys[row].includes(issueKeyQuery)) {
+        continue;
+      }
+      if (commentQuery && !current.comments[row].includes(commentQuery)) {
+        continue;
+      }
+      matches[matchCount] = row;
+      matchCount += 1;
+    }
+  }
+
+  const indexes = matches.slice(0, matchCount);
+  lastResult = { selectionKey, issueKeyQuery, commentQuery, indexes };
+
+  const response: QueryWorkerResponse = {
+    type: 'result',
+    datasetId,
+    requestId,
+    indexes: indexes.slice(),
+    issueLinkOptions: current.issueLinkOptions,
+    labelOptions: current.labelOptions,
+    byIssueLinks: toDistribution(
+      current.issueLinks.values,
+      countCodes(current.issueLinkCodes, indexes, current.issueLinks.values.length),
+      matchCount
+    ),
+    byLabel: toDistribution(
+      current.labels.values,
+      countCodes(current.labelCodes, indexes, current.labels.values.length),
+      matchCount
+    )
+  };
+  self.postMessage(response, { transfer: [response.indexes.buffer] });
+}
+
+function narrowableCandidates(
+  selectionKey: string,
+  issueKeyQuery: string,
+  commentQuery: string
+): Int32Array | null {
+  if (
+    lastResult
+    && lastResult.selectionKey === selectionKey
+    && issueKeyQuery.includes(lastResult.issueKeyQuery)
+    && commentQuery.includes(lastResult.commentQuery)
+  ) {
+    return lastResult.indexes;
+  }
+  return null;
+}
+
+function toSelection(dictionary: Dictionary, selected: string[]): Set<number> | null {
+  if (selected.length === 0) {
+    return null;
+  }
+  const codes = new Set<number>();
+  for (const value of selected) {
+    const code = dictionary.codes.get(value);
+    if (code !== undefined) {
+      codes.add(code);
+    }
+  }
+  return codes;
+}
+
+function countCodes(codes: Int32Array, rows: Int32Array | null, distinct: number): Int32Array {
+  const counts = new Int32Array(distinct);
+  if (rows) {
+    for (let i = 0; i < rows.length; i += 1) {
+      counts[codes[rows[i]]] += 1;
+    }
+  } else {
+    for (let i = 0; i < codes.length; i += 1) {
+      counts[codes[i]] += 1;
+    }
+  }
+  return counts;
+}
+
+function codeOf(dictionary: Dictionary, value: string): number {
+  const existing = dictionary.codes.get(value);
+  if (existing !== undefined) {
+    return existing;
+  }
+  const code = dictionary.values.length;
+  dictionary.codes.set(value, code);
+  dictionary.values.push(value);
+  return code;
+}
+
+function yieldToEvents(): Promise<void> {
+  return new Promise((resolve) => {
+    setTimeout(resolve, 0);
+  });
+}
@@ -0,0 +1,19 @@
+import type { IncidentRow } from '../types/api';
+import type { DistributionRow } from '../utils/analytics';
+import type { FiltersState } from '../utils/filters';
+
+export type QueryWorkerRequest =
+  | { type: 'load'; datasetId: number; items: IncidentRow[] }
+  | { type: 'query'; datasetId: number; requestId: number; filters: FiltersState };
+
+export type QueryResult = {
+  datasetId: number;
+  requestId: number;
+  indexes: Int32Array;
+  issueLinkOptions: DistributionRow[];
+  labelOptions: DistributionRow[];
+  byIssueLinks: DistributionRow[];
+  byLabel: DistributionRow[];
+};
+
+export type QueryWorkerResponse = { type: 'result' } & QueryResult;